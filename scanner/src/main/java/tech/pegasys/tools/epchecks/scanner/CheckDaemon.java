@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the checks loaded between runs, so editors and pre-commit hooks do not pay for starting a
+ * JVM, loading the checks and warming up the JIT on every run. Requests are read from the standard
+ * input, or from connections to a loopback port with <code>--port</code>, one per line with
+ * tab-separated fields, and answered on the standard output or on the connection:
+ *
+ * <pre>
+ * CHECK &lt;classpath&gt; &lt;file&gt;...  FINDING, FIX and REPLACE lines, then DONE &lt;findings&gt; &lt;ms&gt;
+ * PING                          PONG
+ * SHUTDOWN                      BYE, then the daemon exits
+ * </pre>
+ *
+ * <p>Each finding is answered with <code>FINDING file line column severity check message</code>,
+ * followed by a <code>FIX description</code> line per suggested fix and a <code>REPLACE start end
+ * text</code> line per edit of that fix, with offsets in characters of the file. Tabs, line breaks
+ * and backslashes in fields are escaped as <code>\t</code>, <code>\n</code>, <code>\r</code> and
+ * <code>\\</code>. A request that fails is answered with <code>ERROR message</code>.
+ */
+public final class CheckDaemon {
+
+  private static final String USAGE = "Usage: check-daemon [--port <port>] [-Xep...]...";
+
+  private final WarmCompiler compiler;
+
+  CheckDaemon(final WarmCompiler compiler) {
+    this.compiler = compiler;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    final List<String> errorProneOptions = new ArrayList<>();
+    Integer port = null;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        if (args[i].equals("--port") && i + 1 < args.length) {
+          port = Integer.parseInt(args[++i]);
+        } else if (args[i].startsWith("-Xep")) {
+          errorProneOptions.add(args[i]);
+        } else {
+          throw new IllegalArgumentException("Unknown option " + args[i]);
+        }
+      }
+    } catch (final IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    try (WarmCompiler compiler = new WarmCompiler(errorProneOptions)) {
+      final CheckDaemon daemon = new CheckDaemon(compiler);
+      if (port == null) {
+        daemon.serve(
+            new BufferedReader(new InputStreamReader(System.in, UTF_8)),
+            new PrintWriter(new OutputStreamWriter(System.out, UTF_8)));
+      } else {
+        daemon.listen(port);
+      }
+    }
+    System.exit(0);
+  }
+
+  /** Accepts connections on a loopback port until one of them requests a shutdown. */
+  private void listen(final int port) throws IOException {
+    try (ServerSocket server = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+      System.err.println("Listening on port " + server.getLocalPort());
+      while (!server.isClosed()) {
+        final Socket connection;
+        try {
+          connection = server.accept();
+        } catch (final IOException e) {
+          // The server socket was closed by a shutdown request.
+          break;
+        }
+        final Thread thread = new Thread(() -> serve(connection, server), "check-daemon-client");
+        thread.setDaemon(true);
+        thread.start();
+      }
+    }
+  }
+
+  private void serve(final Socket connection, final ServerSocket server) {
+    try (connection) {
+      final boolean shutdown =
+          serve(
+              new BufferedReader(new InputStreamReader(connection.getInputStream(), UTF_8)),
+              new PrintWriter(new OutputStreamWriter(connection.getOutputStream(), UTF_8)));
+      if (shutdown) {
+        server.close();
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Answers the requests read from the input until it ends or a shutdown is requested.
+   *
+   * @return whether a shutdown was requested
+   */
+  boolean serve(final BufferedReader in, final PrintWriter out) throws IOException {
+    String line;
+    while ((line = in.readLine()) != null) {
+      if (line.isEmpty()) {
+        continue;
+      }
+      final List<String> request = fields(line);
+      switch (request.get(0)) {
+        case "CHECK":
+          check(request, out);
+          break;
+        case "PING":
+          out.println("PONG");
+          break;
+        case "SHUTDOWN":
+          out.println("BYE");
+          out.flush();
+          return true;
+        default:
+          out.println(line("ERROR", "Unknown request " + request.get(0)));
+      }
+      out.flush();
+    }
+    return false;
+  }
+
+  private void check(final List<String> request, final PrintWriter out) {
+    if (request.size() < 3) {
+      out.println(line("ERROR", "Expected CHECK <classpath> <file>..."));
+      return;
+    }
+    final List<Path> files = new ArrayList<>();
+    for (final String file : request.subList(2, request.size())) {
+      files.add(Path.of(file));
+    }
+    final long start = System.nanoTime();
+    final List<Finding> findings;
+    try {
+      findings = compiler.check(request.get(1), files);
+    } catch (final IOException | RuntimeException e) {
+      out.println(line("ERROR", String.valueOf(e)));
+      return;
+    }
+    for (final Finding finding : findings) {
+      out.println(
+          line(
+              "FINDING",
+              finding.file().toString(),
+              String.valueOf(finding.line()),
+              String.valueOf(finding.column()),
+              finding.severity(),
+              finding.check(),
+              finding.message()));
+      for (final Finding.Fix fix : finding.fixes()) {
+        out.println(line("FIX", fix.description()));
+        for (final Finding.Edit edit : fix.edits()) {
+          out.println(
+              line(
+                  "REPLACE",
+                  String.valueOf(edit.start()),
+                  String.valueOf(edit.end()),
+                  edit.replacement()));
+        }
+      }
+    }
+    out.println(
+        line(
+            "DONE",
+            String.valueOf(findings.size()),
+            String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))));
+  }
+
+  static String line(final String... fields) {
+    final StringBuilder line = new StringBuilder();
+    for (final String field : fields) {
+      if (line.length() > 0) {
+        line.append('\t');
+      }
+      for (int i = 0; i < field.length(); i++) {
+        final char c = field.charAt(i);
+        switch (c) {
+          case '\t':
+            line.append("\\t");
+            break;
+          case '\n':
+            line.append("\\n");
+            break;
+          case '\r':
+            line.append("\\r");
+            break;
+          case '\\':
+            line.append("\\\\");
+            break;
+          default:
+            line.append(c);
+        }
+      }
+    }
+    return line.toString();
+  }
+
+  static List<String> fields(final String line) {
+    final List<String> fields = new ArrayList<>();
+    final StringBuilder field = new StringBuilder();
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+      if (c == '\t') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\\' && i + 1 < line.length()) {
+        final char escaped = line.charAt(++i);
+        field.append(
+            escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/** A finding of a check, as reported by Error Prone. */
+public final class Finding {
+
+  /** The check of compilation errors, which are not reported by a check. */
+  static final String COMPILER = "javac";
+
+  static final Comparator<Finding> ORDER =
+      Comparator.comparing((Finding finding) -> finding.file)
+          .thenComparingLong(finding -> finding.line)
+          .thenComparingLong(finding -> finding.column)
+          .thenComparing(finding -> finding.check);
+
+  private final Path file;
+  private final long line;
+  private final long column;
+  private final String severity;
+  private final String check;
+  private final String message;
+  private final List<Fix> fixes;
+
+  Finding(
+      final Path file,
+      final long line,
+      final long column,
+      final String severity,
+      final String check,
+      final String message) {
+    this(file, line, column, severity, check, message, List.of());
+  }
+
+  Finding(
+      final Path file,
+      final long line,
+      final long column,
+      final String severity,
+      final String check,
+      final String message,
+      final List<Fix> fixes) {
+    this.file = file;
+    this.line = line;
+    this.column = column;
+    this.severity = severity;
+    this.check = check;
+    this.message = message;
+    this.fixes = List.copyOf(fixes);
+  }
+
+  /**
+   * The finding of a diagnostic. Error Prone starts the message with the name of the check, other
+   * diagnostics are compilation errors.
+   */
+  static Finding of(final Path file, final Diagnostic<? extends JavaFileObject> diagnostic) {
+    final String message = diagnostic.getMessage(Locale.ROOT);
+    final int checkEnd = message.startsWith("[") ? message.indexOf(']') : -1;
+    final int firstLineEnd = message.indexOf('\n');
+    return new Finding(
+        file,
+        diagnostic.getLineNumber(),
+        diagnostic.getColumnNumber(),
+        severity(diagnostic.getKind()),
+        checkEnd > 0 ? message.substring(1, checkEnd) : COMPILER,
+        message
+            .substring(
+                checkEnd > 0 ? checkEnd + 1 : 0,
+                firstLineEnd > checkEnd ? firstLineEnd : message.length())
+            .strip());
+  }
+
+  private static String severity(final Diagnostic.Kind kind) {
+    switch (kind) {
+      case ERROR:
+        return "ERROR";
+      case WARNING:
+      case MANDATORY_WARNING:
+        return "WARNING";
+      default:
+        return "SUGGESTION";
+    }
+  }
+
+  public Path file() {
+    return file;
+  }
+
+  public long line() {
+    return line;
+  }
+
+  public String severity() {
+    return severity;
+  }
+
+  public String check() {
+    return check;
+  }
+
+  public long column() {
+    return column;
+  }
+
+  public String message() {
+    return message;
+  }
+
+  public List<Fix> fixes() {
+    return fixes;
+  }
+
+  @Override
+  public String toString() {
+    return file + ":" + line + ":" + column + ": " + severity + ": [" + check + "] " + message;
+  }
+
+  /** A fix suggested for a finding, as the edits it makes to the source file. */
+  public static final class Fix {
+    private final String description;
+    private final List<Edit> edits;
+
+    Fix(final String description, final List<Edit> edits) {
+      this.description = description;
+      this.edits = List.copyOf(edits);
+    }
+
+    public String description() {
+      return description;
+    }
+
+    public List<Edit> edits() {
+      return edits;
+    }
+  }
+
+  /** Replaces the characters from start, inclusive, to end, exclusive, of a source file. */
+  public static final class Edit {
+    private final int start;
+    private final int end;
+    private final String replacement;
+
+    Edit(final int start, final int end, final String replacement) {
+      this.start = start;
+      this.end = end;
+      this.replacement = replacement;
+    }
+
+    public int start() {
+      return start;
+    }
+
+    public int end() {
+      return end;
+    }
+
+    public String replacement() {
+      return replacement;
+    }
+  }
+}
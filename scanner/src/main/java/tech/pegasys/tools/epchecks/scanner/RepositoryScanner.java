@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import tech.pegasys.tools.epchecks.ReferenceComparison;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticListener;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.ErrorProneJavaCompiler;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.scanner.ScannerSupplier;
+import com.sun.source.util.JavacTask;
+
+/**
+ * Runs every check of this plugin over whole source trees. The source files are split into shards
+ * and each shard is compiled by its own javac task, with Error Prone and only the checks of this
+ * plugin, on a pool of threads. The findings of all shards are merged into a single report.
+ *
+ * <pre>
+ * RepositoryScanner [--classpath &lt;path&gt;] [--threads &lt;n&gt;] [--shards &lt;n&gt;]
+ *     [--report &lt;file&gt;] [-Xep...] &lt;source root&gt;...
+ * </pre>
+ *
+ * <p>The classpath holds the dependencies of the source trees, which are also the source path of
+ * every shard. A shard enters the files it references from other shards for their signatures, but
+ * only attributes, analyses and checks its own files, see {@link ShardTodo}. Error Prone options,
+ * such as <code>-XepOpt:BannedMethod:RulesFile=rules.txt</code>, are passed on.
+ */
+public final class RepositoryScanner {
+
+  private static final String USAGE =
+      "Usage: RepositoryScanner [--classpath <path>] [--threads <n>] [--shards <n>]"
+          + " [--report <file>] [-Xep...] <source root>...";
+
+  private final List<Path> sourceRoots;
+  private final String classpath;
+  private final int threads;
+  private final int shards;
+  private final List<String> errorProneOptions;
+  private final ImmutableList<Class<? extends BugChecker>> checkers = checkers();
+
+  public RepositoryScanner(
+      final List<Path> sourceRoots,
+      final String classpath,
+      final int threads,
+      final int shards,
+      final List<String> errorProneOptions) {
+    this.sourceRoots = List.copyOf(sourceRoots);
+    this.classpath = classpath;
+    this.threads = threads;
+    this.shards = shards;
+    this.errorProneOptions = List.copyOf(errorProneOptions);
+  }
+
+  public static void main(final String[] args) throws IOException, InterruptedException {
+    final List<Path> sourceRoots = new ArrayList<>();
+    final List<String> errorProneOptions = new ArrayList<>();
+    String classpath = null;
+    Path report = null;
+    int threads = Runtime.getRuntime().availableProcessors();
+    Integer shards = null;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--classpath":
+            classpath = value(args, ++i);
+            break;
+          case "--threads":
+            threads = Integer.parseInt(value(args, ++i));
+            break;
+          case "--shards":
+            shards = Integer.parseInt(value(args, ++i));
+            break;
+          case "--report":
+            report = Path.of(value(args, ++i));
+            break;
+          default:
+            if (args[i].startsWith("-Xep")) {
+              errorProneOptions.add(args[i]);
+            } else if (args[i].startsWith("-")) {
+              throw new IllegalArgumentException("Unknown option " + args[i]);
+            } else {
+              sourceRoots.add(Path.of(args[i]));
+            }
+        }
+      }
+      if (sourceRoots.isEmpty() || threads < 1 || (shards != null && shards < 1)) {
+        throw new IllegalArgumentException(
+            "Expected source roots, and positive threads and shards");
+      }
+    } catch (final IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    // More shards than threads, so threads that finish early take over the remaining shards.
+    final RepositoryScanner scanner =
+        new RepositoryScanner(
+            sourceRoots,
+            classpath,
+            threads,
+            shards != null ? shards : threads * 4,
+            errorProneOptions);
+    final long start = System.nanoTime();
+    final List<Finding> findings = scanner.scan();
+    final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    if (report == null) {
+      writeReport(findings, System.out);
+    } else {
+      try (PrintStream out = new PrintStream(Files.newOutputStream(report), false, UTF_8)) {
+        writeReport(findings, out);
+      }
+    }
+    System.err.printf(
+        Locale.ROOT,
+        "%d findings on %d threads in %d ms%n",
+        findings.size(),
+        scanner.threads,
+        elapsed);
+    System.exit(findings.stream().anyMatch(f -> f.severity().equals("ERROR")) ? 1 : 0);
+  }
+
+  /** Scans the source roots and returns the findings ordered by file and position. */
+  public List<Finding> scan() throws IOException, InterruptedException {
+    final List<List<Path>> partition = ShardPlanner.partition(sourceFiles(), shards);
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    final List<Future<List<Finding>>> results;
+    try {
+      final List<Callable<List<Finding>>> tasks = new ArrayList<>();
+      for (final List<Path> shard : partition) {
+        tasks.add(() -> scanShard(shard));
+      }
+      results = pool.invokeAll(tasks);
+    } finally {
+      pool.shutdown();
+    }
+    final List<Finding> findings = new ArrayList<>();
+    for (final Future<List<Finding>> result : results) {
+      try {
+        findings.addAll(result.get());
+      } catch (final ExecutionException e) {
+        throw new IllegalStateException("Scanning a shard failed", e.getCause());
+      }
+    }
+    findings.sort(Finding.ORDER);
+    return findings;
+  }
+
+  private List<Finding> scanShard(final List<Path> shard) throws IOException {
+    final Set<Path> shardFiles = new HashSet<>(shard);
+    final List<Finding> findings = new ArrayList<>();
+    // Files of other shards are read from the source path, and javac may report errors in them,
+    // which their own shard reports too.
+    final DiagnosticListener<JavaFileObject> listener =
+        diagnostic -> {
+          if (diagnostic.getSource() == null) {
+            return;
+          }
+          final Path file = Path.of(diagnostic.getSource().toUri()).toAbsolutePath().normalize();
+          final boolean errorProne =
+              diagnostic.getCode() != null && diagnostic.getCode().endsWith(".error.prone");
+          if (shardFiles.contains(file)
+              && (errorProne || diagnostic.getKind() == Diagnostic.Kind.ERROR)) {
+            findings.add(Finding.of(file, diagnostic));
+          }
+        };
+    final ErrorProneJavaCompiler compiler =
+        new ErrorProneJavaCompiler(ScannerSupplier.fromBugCheckerClasses(checkers));
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(listener, Locale.ROOT, UTF_8)) {
+      final JavacTask task =
+          (JavacTask)
+              compiler.getTask(
+                  null,
+                  fileManager,
+                  listener,
+                  options(),
+                  null,
+                  fileManager.getJavaFileObjectsFromPaths(shard));
+      ShardTodo.register(task, shardFiles);
+      task.call();
+    }
+    return findings;
+  }
+
+  private List<String> options() {
+    final List<String> options = new ArrayList<>();
+    if (classpath != null) {
+      options.add("-classpath");
+      options.add(classpath);
+    }
+    options.add("-sourcepath");
+    options.add(
+        sourceRoots.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator)));
+    options.addAll(
+        List.of(
+            "-implicit:none",
+            "-proc:none",
+            "-XDcompilePolicy=simple",
+            // Error Prone runs after flow analysis, nothing after it is needed.
+            "--should-stop=ifError=FLOW",
+            "--should-stop=ifNoError=FLOW",
+            "-Xmaxwarns",
+            String.valueOf(Integer.MAX_VALUE),
+            "-Xmaxerrs",
+            String.valueOf(Integer.MAX_VALUE)));
+    options.addAll(errorProneOptions);
+    return options;
+  }
+
+  private List<Path> sourceFiles() throws IOException {
+    final Set<Path> files = new LinkedHashSet<>();
+    for (final Path root : sourceRoots) {
+      try (Stream<Path> paths = Files.walk(root)) {
+        paths
+            .filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+            .map(path -> path.toAbsolutePath().normalize())
+            .sorted()
+            .forEach(files::add);
+      } catch (final UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+    return new ArrayList<>(files);
+  }
+
+  // The checks of this plugin, as registered for the service loader.
+  static ImmutableList<Class<? extends BugChecker>> checkers() {
+    return ServiceLoader.load(BugChecker.class).stream()
+        .map(ServiceLoader.Provider::type)
+        .filter(type -> type.getPackageName().equals(ReferenceComparison.class.getPackageName()))
+        .sorted(Comparator.comparing(Class::getName))
+        .collect(toImmutableList());
+  }
+
+  private static void writeReport(final List<Finding> findings, final PrintStream out) {
+    for (final Finding finding : findings) {
+      out.println(finding);
+    }
+  }
+
+  private static String value(final String[] args, final int index) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException("Missing value of " + args[index - 1]);
+    }
+    return args[index];
+  }
+}
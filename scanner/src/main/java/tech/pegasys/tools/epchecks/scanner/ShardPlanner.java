@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Splits source files into shards of about the same size. Files of the same package stay together
+ * where possible, as they mostly reference each other and every shard parses and enters the files
+ * it references from other shards again, though it only attributes and checks its own. Packages
+ * larger than half a shard are split.
+ */
+final class ShardPlanner {
+
+  private ShardPlanner() {}
+
+  static List<List<Path>> partition(final List<Path> files, final int shardCount) {
+    final Map<Path, List<Path>> packages = new TreeMap<>();
+    final Map<Path, Long> sizes = new HashMap<>();
+    long totalSize = 0;
+    for (final Path file : files) {
+      packages.computeIfAbsent(file.toAbsolutePath().getParent(), p -> new ArrayList<>()).add(file);
+      final long size = size(file);
+      sizes.put(file, size);
+      totalSize += size;
+    }
+    // Groups of at most half a shard, so the shards can even out.
+    final long maxGroupSize = Math.max(1, totalSize / (2L * shardCount));
+
+    final List<Group> groups = new ArrayList<>();
+    for (final List<Path> packageFiles : packages.values()) {
+      Group group = new Group();
+      for (final Path file : packageFiles) {
+        final long size = sizes.get(file);
+        if (!group.files.isEmpty() && group.size + size > maxGroupSize) {
+          groups.add(group);
+          group = new Group();
+        }
+        group.add(file, size);
+      }
+      groups.add(group);
+    }
+
+    // Largest groups first, each to the smallest shard so far.
+    groups.sort(Comparator.comparingLong((Group group) -> group.size).reversed());
+    final PriorityQueue<Group> shards =
+        new PriorityQueue<>(
+            Comparator.comparingLong((Group shard) -> shard.size).thenComparingInt(s -> s.index));
+    for (int i = 0; i < Math.min(shardCount, groups.size()); i++) {
+      final Group shard = new Group();
+      shard.index = i;
+      shards.add(shard);
+    }
+    for (final Group group : groups) {
+      final Group shard = shards.poll();
+      for (final Path file : group.files) {
+        shard.add(file, 0);
+      }
+      shard.size += group.size;
+      shards.add(shard);
+    }
+
+    final List<Group> ordered = new ArrayList<>(shards);
+    ordered.sort(Comparator.comparingInt(shard -> shard.index));
+    final List<List<Path>> partition = new ArrayList<>();
+    for (final Group shard : ordered) {
+      partition.add(shard.files);
+    }
+    return partition;
+  }
+
+  private static long size(final Path file) {
+    try {
+      return Files.size(file);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to read the size of " + file, e);
+    }
+  }
+
+  private static final class Group {
+    private final List<Path> files = new ArrayList<>();
+    private long size;
+    private int index;
+
+    private void add(final Path file, final long fileSize) {
+      files.add(file);
+      size += fileSize;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import com.sun.source.util.JavacTask;
+import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.comp.AttrContext;
+import com.sun.tools.javac.comp.Env;
+import com.sun.tools.javac.comp.Todo;
+
+/**
+ * The classes a shard attributes, analyses and checks, which are those of its own files. The
+ * classes of other shards, which javac reads from the source path when a file of the shard
+ * references them, are entered for their signatures, but their bodies are left to their own shard.
+ */
+final class ShardTodo extends Todo {
+
+  private final Set<Path> shardFiles;
+
+  private ShardTodo(final BasicJavacTask task, final Set<Path> shardFiles) {
+    super(task.getContext());
+    this.shardFiles = shardFiles;
+  }
+
+  /** Replaces the todo of the given, not yet started, compilation task. */
+  static void register(final JavacTask task, final Set<Path> shardFiles) {
+    new ShardTodo((BasicJavacTask) task, shardFiles);
+  }
+
+  @Override
+  public void append(final Env<AttrContext> env) {
+    final Path file = Path.of(env.toplevel.sourcefile.toUri()).toAbsolutePath().normalize();
+    if (shardFiles.contains(file)) {
+      super.append(env);
+    }
+  }
+}
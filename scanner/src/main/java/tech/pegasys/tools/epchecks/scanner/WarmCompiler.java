@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import tech.pegasys.tools.epchecks.CheckerListener;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticListener;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+import com.google.errorprone.ErrorProneJavaCompiler;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.fixes.Fix;
+import com.google.errorprone.fixes.Replacement;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.scanner.ScannerSupplier;
+import com.sun.source.tree.LineMap;
+import com.sun.source.util.JavacTask;
+import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
+
+/**
+ * Checks source files with every check of this plugin, keeping what can be reused between requests
+ * in memory: the checks, the code the JIT compiled for them, and a file manager per classpath,
+ * which holds the opened jars and their indexes. Requests are served one at a time.
+ */
+final class WarmCompiler implements Closeable {
+
+  private static final int MAX_FILE_MANAGERS = 8;
+
+  private final ErrorProneJavaCompiler compiler =
+      new ErrorProneJavaCompiler(
+          ScannerSupplier.fromBugCheckerClasses(RepositoryScanner.checkers()));
+  private final List<String> errorProneOptions;
+
+  // The file managers of the most recently used classpaths.
+  private final Map<String, CachedFileManager> fileManagers = new LinkedHashMap<>(16, 0.75f, true);
+
+  WarmCompiler(final List<String> errorProneOptions) {
+    this.errorProneOptions = List.copyOf(errorProneOptions);
+  }
+
+  /** The findings of the given files, with their fixes, and their compilation errors. */
+  synchronized List<Finding> check(final String classpath, final List<Path> files)
+      throws IOException {
+    final StandardJavaFileManager fileManager = fileManager(classpath);
+    final Set<Path> requested = new HashSet<>();
+    for (final Path file : files) {
+      requested.add(file.toAbsolutePath().normalize());
+    }
+    final List<Finding> findings = new ArrayList<>();
+    // Findings of checks are received with their fixes, only compilation errors are diagnostics.
+    final DiagnosticListener<JavaFileObject> diagnostics =
+        diagnostic -> {
+          if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getSource() != null) {
+            final Path file = Path.of(diagnostic.getSource().toUri()).toAbsolutePath().normalize();
+            final boolean errorProne =
+                diagnostic.getCode() != null && diagnostic.getCode().endsWith(".error.prone");
+            if (!errorProne && requested.contains(file)) {
+              findings.add(Finding.of(file, diagnostic));
+            }
+          }
+        };
+    final JavacTask task =
+        (JavacTask)
+            compiler.getTask(
+                null,
+                fileManager,
+                diagnostics,
+                options(classpath),
+                null,
+                fileManager.getJavaFileObjectsFromPaths(requested));
+    CheckerListener.register(
+        task, (description, state) -> findings.add(finding(description, state)));
+    task.call();
+    findings.sort(Finding.ORDER);
+    return findings;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    for (final CachedFileManager cached : fileManagers.values()) {
+      cached.fileManager.close();
+    }
+    fileManagers.clear();
+  }
+
+  /**
+   * The file manager of the classpath. A file manager keeps the jars it opened, so it is replaced
+   * once an entry of the classpath was rebuilt, rather than reading the stale archive.
+   */
+  private StandardJavaFileManager fileManager(final String classpath) throws IOException {
+    final String stamp = stamp(classpath);
+    final CachedFileManager cached = fileManagers.get(classpath);
+    if (cached != null) {
+      if (cached.stamp.equals(stamp)) {
+        return cached.fileManager;
+      }
+      fileManagers.remove(classpath);
+      cached.fileManager.close();
+    }
+    if (fileManagers.size() >= MAX_FILE_MANAGERS) {
+      final Iterator<CachedFileManager> leastRecentlyUsed = fileManagers.values().iterator();
+      leastRecentlyUsed.next().fileManager.close();
+      leastRecentlyUsed.remove();
+    }
+    final StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(null, Locale.ROOT, UTF_8);
+    fileManagers.put(classpath, new CachedFileManager(stamp, fileManager));
+    return fileManager;
+  }
+
+  // The size and modification time of every entry of the classpath.
+  private static String stamp(final String classpath) {
+    final StringBuilder stamp = new StringBuilder();
+    for (final String entry : classpath.split(File.pathSeparator)) {
+      if (entry.isEmpty()) {
+        continue;
+      }
+      try {
+        final BasicFileAttributes attributes =
+            Files.readAttributes(Path.of(entry), BasicFileAttributes.class);
+        stamp.append(attributes.size()).append(':').append(attributes.lastModifiedTime());
+      } catch (final IOException | InvalidPathException e) {
+        stamp.append('-');
+      }
+      stamp.append(File.pathSeparatorChar);
+    }
+    return stamp.toString();
+  }
+
+  private List<String> options(final String classpath) {
+    final List<String> options = new ArrayList<>();
+    if (!classpath.isEmpty()) {
+      options.add("-classpath");
+      options.add(classpath);
+    }
+    options.addAll(
+        List.of(
+            "-implicit:none",
+            "-proc:none",
+            "-XDcompilePolicy=simple",
+            "--should-stop=ifError=FLOW",
+            "--should-stop=ifNoError=FLOW"));
+    options.addAll(errorProneOptions);
+    return options;
+  }
+
+  private static final class CachedFileManager {
+    private final String stamp;
+    private final StandardJavaFileManager fileManager;
+
+    private CachedFileManager(final String stamp, final StandardJavaFileManager fileManager) {
+      this.stamp = stamp;
+      this.fileManager = fileManager;
+    }
+  }
+
+  private static Finding finding(final Description description, final VisitorState state) {
+    final JCCompilationUnit compilationUnit =
+        (JCCompilationUnit) state.getPath().getCompilationUnit();
+    final LineMap lines = compilationUnit.getLineMap();
+    final int position = description.position.getPreferredPosition();
+    final List<Finding.Fix> fixes = new ArrayList<>();
+    for (final Fix fix : description.fixes) {
+      final List<Finding.Edit> edits = new ArrayList<>();
+      for (final Replacement replacement : fix.getReplacements(compilationUnit.endPositions)) {
+        edits.add(
+            new Finding.Edit(
+                replacement.startPosition(), replacement.endPosition(), replacement.replaceWith()));
+      }
+      fixes.add(new Finding.Fix(fix.getShortDescription(), edits));
+    }
+    return new Finding(
+        Path.of(compilationUnit.getSourceFile().toUri()).toAbsolutePath().normalize(),
+        lines.getLineNumber(position),
+        lines.getColumnNumber(position),
+        state.severityMap().containsKey(description.checkName)
+            ? state.severityMap().get(description.checkName).name()
+            : "WARNING",
+        description.checkName,
+        description.getRawMessage(),
+        fixes);
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CheckDaemonTest {
+
+  @TempDir Path sourceRoot;
+
+  @Test
+  public void answersRepeatedChecksWithFindingsAndFixes() throws IOException {
+    final Path file = sourceRoot.resolve("Names.java");
+    Files.write(
+        file,
+        List.of(
+            "public class Names {",
+            "  public void bad_name() {}",
+            "",
+            "  public boolean same(final Object x, final Object y) {",
+            "    return x == y;",
+            "  }",
+            "}"),
+        UTF_8);
+    final String check = CheckDaemon.line("CHECK", "", file.toString());
+
+    final List<String> responses;
+    final boolean shutdown;
+    try (WarmCompiler compiler = new WarmCompiler(List.of())) {
+      final StringWriter out = new StringWriter();
+      shutdown =
+          new CheckDaemon(compiler)
+              .serve(
+                  new BufferedReader(
+                      new StringReader(String.join("\n", "PING", check, check, "SHUTDOWN"))),
+                  new PrintWriter(out));
+      responses = Arrays.asList(out.toString().split("\\R"));
+    }
+
+    assertTrue(shutdown);
+    assertEquals("PONG", responses.get(0));
+    assertEquals("BYE", responses.get(responses.size() - 1));
+    final List<String> firstRun = responses.subList(1, (responses.size() - 2) / 2 + 1);
+    final List<String> secondRun = responses.subList(firstRun.size() + 1, responses.size() - 1);
+    assertEquals(withoutTime(firstRun), withoutTime(secondRun));
+
+    final List<String> finding = CheckDaemon.fields(firstRun.get(0));
+    assertEquals(
+        List.of("FINDING", file.toString(), "2", "15", "SUGGESTION", "JavaCase"),
+        finding.subList(0, 6));
+    assertEquals("FIX", CheckDaemon.fields(firstRun.get(1)).get(0));
+    final List<String> replace = CheckDaemon.fields(firstRun.get(2));
+    assertEquals("REPLACE", replace.get(0));
+    assertEquals("badName", replace.get(3));
+    assertEquals(
+        "bad_name",
+        Files.readString(file)
+            .substring(Integer.parseInt(replace.get(1)), Integer.parseInt(replace.get(2))));
+    assertEquals(
+        List.of("FINDING", file.toString(), "5", "14"),
+        CheckDaemon.fields(firstRun.get(3)).subList(0, 4));
+    assertEquals("ReferenceComparison", CheckDaemon.fields(firstRun.get(3)).get(5));
+    assertEquals(List.of("DONE", "2"), CheckDaemon.fields(firstRun.get(4)).subList(0, 2));
+  }
+
+  @Test
+  public void reportsCompilationErrorsAndUnknownRequests() throws IOException {
+    final Path file = sourceRoot.resolve("Broken.java");
+    Files.write(file, List.of("public class Broken {", "  Missing missing;", "}"), UTF_8);
+
+    final StringWriter out = new StringWriter();
+    try (WarmCompiler compiler = new WarmCompiler(List.of())) {
+      new CheckDaemon(compiler)
+          .serve(
+              new BufferedReader(
+                  new StringReader(
+                      String.join("\n", CheckDaemon.line("CHECK", "", file.toString()), "WHAT"))),
+              new PrintWriter(out));
+    }
+
+    final List<String> responses = Arrays.asList(out.toString().split("\\R"));
+    final List<String> error = CheckDaemon.fields(responses.get(0));
+    assertEquals(
+        List.of("FINDING", file.toString(), "2", "3", "ERROR", "javac"), error.subList(0, 6));
+    assertEquals(List.of("DONE", "1"), CheckDaemon.fields(responses.get(1)).subList(0, 2));
+    assertEquals("ERROR\tUnknown request WHAT", responses.get(2));
+  }
+
+  @Test
+  public void escapesFields() {
+    final String line = CheckDaemon.line("FIX", "a\tb\nc\\d");
+
+    assertEquals("FIX\ta\\tb\\nc\\\\d", line);
+    assertEquals(List.of("FIX", "a\tb\nc\\d"), CheckDaemon.fields(line));
+  }
+
+  private static List<String> withoutTime(final List<String> run) {
+    return run.subList(0, run.size() - 1);
+  }
+}
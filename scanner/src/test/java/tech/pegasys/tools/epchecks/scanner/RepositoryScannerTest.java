@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RepositoryScannerTest {
+
+  private static final String CHECKER_MATCH_EVENT = "tech.pegasys.tools.epchecks.CheckerMatch";
+
+  @TempDir Path sourceRoot;
+  @TempDir Path outputDirectory;
+
+  @BeforeEach
+  public void writeSources() throws IOException {
+    write(
+        "a/Values.java",
+        "package a;",
+        "",
+        "import java.util.List;",
+        "",
+        "public class Values {",
+        "  public static boolean same(final List<Integer> x, final List<Integer> y) {",
+        "    return x == y;",
+        "  }",
+        "}");
+    write(
+        "b/Names.java",
+        "package b;",
+        "",
+        "import a.Values;",
+        "import java.util.List;",
+        "",
+        "public class Names {",
+        "  public void bad_name() {}",
+        "",
+        "  public boolean uses(final List<Integer> x) {",
+        "    return Values.same(x, x);",
+        "  }",
+        "}");
+    write("b/More.java", "package b;", "", "public class More {}");
+  }
+
+  @Test
+  public void reportsFindingsOfAllShardsOnce() throws IOException, InterruptedException {
+    final List<Finding> findings =
+        new RepositoryScanner(List.of(sourceRoot), null, 2, 3, List.of()).scan();
+
+    assertEquals(2, findings.size());
+    assertEquals(sourceRoot.resolve("a/Values.java").toAbsolutePath(), findings.get(0).file());
+    assertEquals("ReferenceComparison", findings.get(0).check());
+    assertEquals(7, findings.get(0).line());
+    assertEquals(sourceRoot.resolve("b/Names.java").toAbsolutePath(), findings.get(1).file());
+    assertEquals("JavaCase", findings.get(1).check());
+    assertEquals(7, findings.get(1).line());
+  }
+
+  @Test
+  public void shardingDoesNotChangeFindings() throws IOException, InterruptedException {
+    final List<String> sharded =
+        new RepositoryScanner(List.of(sourceRoot), null, 3, 3, List.of())
+            .scan().stream().map(Finding::toString).toList();
+    final List<String> single =
+        new RepositoryScanner(List.of(sourceRoot), null, 1, 1, List.of())
+            .scan().stream().map(Finding::toString).toList();
+
+    assertEquals(single, sharded);
+  }
+
+  @Test
+  public void passesErrorProneOptions() throws IOException, InterruptedException {
+    final List<Finding> findings =
+        new RepositoryScanner(List.of(sourceRoot), null, 2, 2, List.of("-Xep:JavaCase:OFF")).scan();
+
+    assertEquals(1, findings.size());
+    assertEquals("ReferenceComparison", findings.get(0).check());
+  }
+
+  @Test
+  public void checksSkipFilesOfOtherShards() throws IOException, InterruptedException {
+    // Names references Values, so the shard of Names attributes Values as well.
+    final Map<String, Long> sharded = checkedTreesByFile(3);
+
+    assertEquals(3, sharded.size());
+    assertEquals(checkedTreesByFile(1), sharded);
+  }
+
+  // How many trees the checks matched in each file, as recorded by the timings of every match.
+  private Map<String, Long> checkedTreesByFile(final int shards)
+      throws IOException, InterruptedException {
+    final Path recordingFile = outputDirectory.resolve(shards + "-shards.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(CHECKER_MATCH_EVENT).withThreshold(Duration.ZERO);
+      recording.start();
+      new RepositoryScanner(
+              List.of(sourceRoot),
+              null,
+              1,
+              shards,
+              List.of("-XepOpt:EpChecks:TimingsFile=" + outputDirectory.resolve("timings.tsv")))
+          .scan();
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+    return RecordingFile.readAllEvents(recordingFile).stream()
+        .filter(event -> event.getEventType().getName().equals(CHECKER_MATCH_EVENT))
+        .collect(groupingBy(event -> event.getString("sourceFile"), counting()));
+  }
+
+  private void write(final String file, final String... lines) throws IOException {
+    final Path path = sourceRoot.resolve(file);
+    Files.createDirectories(path.getParent());
+    Files.write(path, List.of(lines), UTF_8);
+  }
+}
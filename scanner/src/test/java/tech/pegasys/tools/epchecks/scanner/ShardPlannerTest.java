@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ShardPlannerTest {
+
+  @TempDir Path sourceRoot;
+
+  @Test
+  public void assignsEveryFileToOneShard() throws IOException {
+    final List<Path> files = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      files.add(write("p" + (i % 3) + "/F" + i + ".java", 100 + i * 10));
+    }
+
+    final List<List<Path>> shards = ShardPlanner.partition(files, 4);
+
+    assertEquals(4, shards.size());
+    final List<Path> assigned = new ArrayList<>();
+    shards.forEach(assigned::addAll);
+    assertEquals(files.size(), assigned.size());
+    assertEquals(new HashSet<>(files), new HashSet<>(assigned));
+  }
+
+  @Test
+  public void balancesShardsBySize() throws IOException {
+    final List<Path> files = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      files.add(write("p" + (i % 5) + "/F" + i + ".java", 1000));
+    }
+
+    for (final List<Path> shard : ShardPlanner.partition(files, 4)) {
+      assertTrue(shard.size() >= 8 && shard.size() <= 12, "unbalanced shard " + shard.size());
+    }
+  }
+
+  @Test
+  public void usesNoMoreShardsThanFiles() throws IOException {
+    final List<Path> files = List.of(write("p/A.java", 10), write("p/B.java", 10));
+
+    assertEquals(2, ShardPlanner.partition(files, 8).size());
+  }
+
+  private Path write(final String file, final int size) throws IOException {
+    final Path path = sourceRoot.resolve(file);
+    Files.createDirectories(path.getParent());
+    Files.writeString(path, "x".repeat(size), UTF_8);
+    return path;
+  }
+}
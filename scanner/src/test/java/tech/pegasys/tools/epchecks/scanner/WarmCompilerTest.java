@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks.scanner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WarmCompilerTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void readsRebuiltJarsOfAClasspath() throws IOException {
+    final Path jar = tempDir.resolve("api.jar");
+    final Path file = tempDir.resolve("Client.java");
+    Files.write(
+        file,
+        List.of(
+            "public class Client {",
+            "  public int call(final api.Api api) {",
+            "    return api.current();",
+            "  }",
+            "}"),
+        UTF_8);
+
+    try (WarmCompiler compiler = new WarmCompiler(List.of())) {
+      buildJar(jar, "current", FileTime.fromMillis(1_000_000));
+      assertEquals(List.of(), compiler.check(jar.toString(), List.of(file)));
+
+      // A longer name moves the entries of the jar, which the stale archive would misread.
+      buildJar(jar, "renamedToSomethingLonger", FileTime.fromMillis(2_000_000));
+      final List<Finding> findings = compiler.check(jar.toString(), List.of(file));
+      assertEquals(1, findings.size());
+      assertEquals(Finding.COMPILER, findings.get(0).check());
+      assertEquals(3, findings.get(0).line());
+    }
+  }
+
+  // Builds a jar holding an api.Api class with a single method of the given name.
+  private void buildJar(final Path jar, final String method, final FileTime modified)
+      throws IOException {
+    final Path sources = tempDir.resolve("sources/api");
+    final Path classes = tempDir.resolve("classes");
+    Files.createDirectories(sources);
+    Files.writeString(
+        sources.resolve("Api.java"),
+        "package api;\n\npublic class Api {\n  public int "
+            + method
+            + "() {\n    return 1;\n  }\n}\n");
+    assertEquals(
+        0,
+        ToolProvider.getSystemJavaCompiler()
+            .run(
+                null,
+                null,
+                null,
+                "-d",
+                classes.toString(),
+                sources.resolve("Api.java").toString()));
+    try (OutputStream out = Files.newOutputStream(jar);
+        JarOutputStream jarOut = new JarOutputStream(out)) {
+      jarOut.putNextEntry(new JarEntry("api/Api.class"));
+      jarOut.write(Files.readAllBytes(classes.resolve("api/Api.class")));
+      jarOut.closeEntry();
+    }
+    Files.setLastModifiedTime(jar, modified);
+  }
+}
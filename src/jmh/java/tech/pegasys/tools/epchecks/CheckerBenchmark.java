@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.ErrorProneJavaCompiler;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.scanner.ScannerSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what each check adds to a compilation. Every invocation compiles the same synthetic
+ * compilation units through Error Prone with a single check enabled, so the score is the cost per
+ * compilation unit. The <code>None</code> case runs Error Prone without any check and is the
+ * baseline to subtract. The gc profiler reports the bytes allocated per compilation unit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(CheckerBenchmark.COMPILATION_UNITS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckerBenchmark {
+
+  static final int COMPILATION_UNITS = 20;
+  private static final int METHODS_PER_UNIT = 10;
+
+  @Param({
+    "None",
+    "BannedMethod",
+    "DoNotCreateSecureRandomDirectly",
+    "DoNotInvokeMessageDigestDirectly",
+    "DoNotReturnNullOptionals",
+    "DoNotUseDeprecatedFastutilMethod",
+    "ExperimentalCliOptionMustBeCorrectlyDisplayed",
+    "JavaCase",
+    "MathTargetType",
+    "MethodInputParametersMustBeFinal",
+    "PrivateStaticFinalLoggers",
+    "ReferenceComparison"
+  })
+  public String checker;
+
+  private ErrorProneJavaCompiler compiler;
+  private StandardJavaFileManager fileManager;
+  private List<JavaFileObject> sources;
+  private List<String> options;
+  private Path outputDirectory;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException, ClassNotFoundException {
+    compiler = new ErrorProneJavaCompiler(scannerSupplier(checker));
+    fileManager = compiler.getStandardFileManager(null, null, UTF_8);
+    sources = SyntheticSources.generate(COMPILATION_UNITS, METHODS_PER_UNIT);
+    outputDirectory = Files.createTempDirectory("epchecks-jmh");
+    options =
+        List.of(
+            "-d",
+            outputDirectory.toString(),
+            "-classpath",
+            System.getProperty("java.class.path"),
+            "-proc:none",
+            "-XDcompilePolicy=simple",
+            "--should-stop=ifError=FLOW");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fileManager.close();
+    try (var paths = Files.walk(outputDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Benchmark
+  public Boolean compile() {
+    final Boolean success =
+        compiler.getTask(null, fileManager, diagnostic -> {}, options, null, sources).call();
+    if (!success) {
+      throw new IllegalStateException("Synthetic sources failed to compile");
+    }
+    return success;
+  }
+
+  private static ScannerSupplier scannerSupplier(final String checker)
+      throws ClassNotFoundException {
+    if (checker.equals("None")) {
+      return ScannerSupplier.fromBugCheckerClasses(ImmutableList.of());
+    }
+    final Class<? extends BugChecker> checkerClass =
+        Class.forName(CheckerBenchmark.class.getPackageName() + "." + checker)
+            .asSubclass(BugChecker.class);
+    return ScannerSupplier.fromBugCheckerClasses(ImmutableList.of(checkerClass));
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates corpora whose shape can be tuned along one dimension at a time, to find checks whose
+ * cost grows faster than their input. Every class is nested in its predecessor down to the nesting
+ * depth and declares the given number of methods; every method computes a chain of arithmetic and
+ * <code>Math</code> calls of the expression depth and makes the given number of fastutil calls.
+ */
+final class CorpusGenerator {
+
+  /** The tunable dimensions of a corpus. */
+  enum Dimension {
+    CLASS_SIZE,
+    NESTING_DEPTH,
+    EXPRESSION_DEPTH,
+    FASTUTIL_DENSITY
+  }
+
+  /** The shape of the compilation units of a corpus. */
+  static final class Shape {
+    final int methodsPerClass;
+    final int nestingDepth;
+    final int expressionDepth;
+    final int fastutilCallsPerMethod;
+
+    Shape(
+        final int methodsPerClass,
+        final int nestingDepth,
+        final int expressionDepth,
+        final int fastutilCallsPerMethod) {
+      this.methodsPerClass = methodsPerClass;
+      this.nestingDepth = nestingDepth;
+      this.expressionDepth = expressionDepth;
+      this.fastutilCallsPerMethod = fastutilCallsPerMethod;
+    }
+
+    /** This shape with one dimension multiplied by the given factor. */
+    Shape scale(final Dimension dimension, final int factor) {
+      switch (dimension) {
+        case CLASS_SIZE:
+          return new Shape(
+              methodsPerClass * factor, nestingDepth, expressionDepth, fastutilCallsPerMethod);
+        case NESTING_DEPTH:
+          return new Shape(
+              methodsPerClass, nestingDepth * factor, expressionDepth, fastutilCallsPerMethod);
+        case EXPRESSION_DEPTH:
+          return new Shape(
+              methodsPerClass, nestingDepth, expressionDepth * factor, fastutilCallsPerMethod);
+        case FASTUTIL_DENSITY:
+          return new Shape(
+              methodsPerClass, nestingDepth, expressionDepth, fastutilCallsPerMethod * factor);
+        default:
+          throw new IllegalArgumentException("Unknown dimension " + dimension);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          Locale.ROOT,
+          "methods=%d nesting=%d expression=%d fastutil=%d",
+          methodsPerClass,
+          nestingDepth,
+          expressionDepth,
+          fastutilCallsPerMethod);
+    }
+  }
+
+  /** The shape every dimension is scaled from. */
+  static final Shape BASE = new Shape(4, 2, 4, 2);
+
+  private static final String HEADER =
+      """
+      package corpus;
+
+      import java.util.Map;
+
+      import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+      import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+      import it.unimi.dsi.fastutil.ints.IntArrayList;
+      import it.unimi.dsi.fastutil.ints.IntList;
+
+      """;
+
+  private CorpusGenerator() {}
+
+  /** Creates the given number of compilation units of the given shape. */
+  static List<JavaFileObject> generate(final int units, final Shape shape) {
+    final List<JavaFileObject> sources = new ArrayList<>(units);
+    for (int unit = 0; unit < units; unit++) {
+      final StringBuilder source = new StringBuilder(HEADER);
+      appendClass(source, "Corpus" + unit, 1, shape);
+      sources.add(
+          new SyntheticSources.InMemorySource("corpus/Corpus" + unit + ".java", source.toString()));
+    }
+    return sources;
+  }
+
+  /** The number of characters of the given sources. */
+  static long size(final List<JavaFileObject> sources) throws IOException {
+    long size = 0;
+    for (final JavaFileObject source : sources) {
+      size += source.getCharContent(true).length();
+    }
+    return size;
+  }
+
+  private static void appendClass(
+      final StringBuilder source, final String name, final int depth, final Shape shape) {
+    final String indent = "  ".repeat(depth - 1);
+    source.append(indent).append(depth == 1 ? "public class " : "class ").append(name);
+    source.append(" {\n");
+    source.append(indent).append("  private final IntList values = new IntArrayList();\n");
+    source
+        .append(indent)
+        .append("  private final Int2ObjectMap<String> labels = new Int2ObjectOpenHashMap<>();\n");
+    for (int method = 0; method < shape.methodsPerClass; method++) {
+      appendMethod(source, indent + "  ", method, shape);
+    }
+    if (depth < shape.nestingDepth) {
+      appendClass(source, name + "Level" + (depth + 1), depth + 1, shape);
+    }
+    source.append(indent).append("}\n");
+  }
+
+  private static void appendMethod(
+      final StringBuilder source, final String indent, final int method, final Shape shape) {
+    source.append('\n');
+    source
+        .append(indent)
+        .append("public long compute")
+        .append(method)
+        .append("(final int key, final int bound, final String name) {\n");
+    // A left-leaning chain, so the Math calls at its bottom have every operator above them.
+    source.append(indent).append("  final long total =");
+    for (int term = 0; term < shape.expressionDepth; term++) {
+      if (term > 0) {
+        source.append(term % 2 == 0 ? " +" : " -");
+      }
+      source
+          .append(term % 3 == 0 ? " Math.max(key, bound" : " (key * ")
+          .append(term % 3 == 0 ? ")" : term + ")");
+    }
+    source.append(";\n");
+    for (int call = 0; call < shape.fastutilCallsPerMethod; call++) {
+      source
+          .append(indent)
+          .append(
+              call % 2 == 0
+                  ? "  values.add(Integer.valueOf(key + " + call + "));\n"
+                  : "  labels.put(Integer.valueOf(bound + " + call + "), name);\n");
+    }
+    source
+        .append(indent)
+        .append("  for (Map.Entry<Integer, String> entry : labels.entrySet()) {\n");
+    source.append(indent).append("    if (entry.getValue() == name) {\n");
+    source.append(indent).append("      return total + entry.getKey();\n");
+    source.append(indent).append("    }\n");
+    source.append(indent).append("  }\n");
+    source.append(indent).append("  return total;\n");
+    source.append(indent).append("}\n");
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.ErrorProneJavaCompiler;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.scanner.ScannerSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how a compilation with the checks grows with its corpus. Every invocation compiles a
+ * corpus from the {@link CorpusGenerator} whose base shape is scaled along one dimension, so
+ * comparing the factors of a dimension shows whether any check costs more than linear time or
+ * allocation in it. The <code>All</code> case runs every check of this plugin and the <code>None
+ * </code> case is Error Prone without any check; a single check can be passed instead with <code>
+ * -p checker=&lt;name&gt;</code>. {@link ScalingReport} runs this benchmark and fits the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScalingBenchmark {
+
+  static final int COMPILATION_UNITS = 10;
+
+  @Param({"CLASS_SIZE", "NESTING_DEPTH", "EXPRESSION_DEPTH", "FASTUTIL_DENSITY"})
+  public String dimension;
+
+  @Param({"1", "2", "4", "8"})
+  public int factor;
+
+  @Param({"All", "None"})
+  public String checker;
+
+  private ErrorProneJavaCompiler compiler;
+  private StandardJavaFileManager fileManager;
+  private List<JavaFileObject> sources;
+  private List<String> options;
+  private Path outputDirectory;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException, ClassNotFoundException {
+    compiler = new ErrorProneJavaCompiler(scannerSupplier(checker));
+    fileManager = compiler.getStandardFileManager(null, null, UTF_8);
+    sources = corpus(CorpusGenerator.Dimension.valueOf(dimension), factor);
+    outputDirectory = Files.createTempDirectory("epchecks-jmh");
+    options =
+        List.of(
+            "-d",
+            outputDirectory.toString(),
+            "-classpath",
+            System.getProperty("java.class.path"),
+            "-proc:none",
+            "-XDcompilePolicy=simple",
+            "--should-stop=ifError=FLOW");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fileManager.close();
+    try (var paths = Files.walk(outputDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Benchmark
+  public Boolean compile() {
+    final Boolean success =
+        compiler.getTask(null, fileManager, diagnostic -> {}, options, null, sources).call();
+    if (!success) {
+      throw new IllegalStateException("Generated corpus failed to compile");
+    }
+    return success;
+  }
+
+  /** The corpus compiled for the given dimension and factor. */
+  static List<JavaFileObject> corpus(final CorpusGenerator.Dimension dimension, final int factor) {
+    return CorpusGenerator.generate(
+        COMPILATION_UNITS, CorpusGenerator.BASE.scale(dimension, factor));
+  }
+
+  private static ScannerSupplier scannerSupplier(final String checker)
+      throws ClassNotFoundException {
+    switch (checker) {
+      case "None":
+        return ScannerSupplier.fromBugCheckerClasses(ImmutableList.of());
+      case "All":
+        return ScannerSupplier.fromBugCheckerClasses(
+            ServiceLoader.load(BugChecker.class).stream()
+                .map(ServiceLoader.Provider::type)
+                .filter(
+                    type -> type.getPackageName().equals(ScalingBenchmark.class.getPackageName()))
+                .collect(ImmutableList.toImmutableList()));
+      default:
+        return ScannerSupplier.fromBugCheckerClasses(
+            ImmutableList.of(
+                Class.forName(ScalingBenchmark.class.getPackageName() + "." + checker)
+                    .asSubclass(BugChecker.class)));
+    }
+  }
+}
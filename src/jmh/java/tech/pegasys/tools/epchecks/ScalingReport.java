@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the {@link ScalingBenchmark} and reports, per dimension and checker, the compile time and
+ * allocation against the size of the corpus. The cost of the checks is the difference with the
+ * <code>None</code> case. Each series is fitted to <code>cost = a * size^k</code>: an exponent
+ * <code>k</code> close to 1 is linear, and series above {@link #SUPERLINEAR} are flagged. The
+ * measurements are also written as CSV for plotting.
+ *
+ * <pre>
+ * ./gradlew jmhScaling [-Pscaling.args="--checker JavaCase --quick"]
+ * </pre>
+ */
+public final class ScalingReport {
+
+  static final double SUPERLINEAR = 1.2;
+
+  private static final String USAGE =
+      "Usage: ScalingReport <csv> [--checker <All|name>] [--factors 1,2,4,8] [--quick]";
+  private static final String ALLOCATION = "gc.alloc.rate.norm";
+  private static final int BAR_WIDTH = 40;
+
+  private ScalingReport() {}
+
+  public static void main(final String[] args) throws IOException, RunnerException {
+    if (args.length == 0) {
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+    final Path csv = Path.of(args[0]);
+    String checker = "All";
+    String factors = "1,2,4,8";
+    boolean quick = false;
+    for (int i = 1; i < args.length; i++) {
+      if (args[i].equals("--checker") && i + 1 < args.length) {
+        checker = args[++i];
+      } else if (args[i].equals("--factors") && i + 1 < args.length) {
+        factors = args[++i];
+      } else if (args[i].equals("--quick")) {
+        quick = true;
+      } else {
+        System.err.println("Unknown option " + args[i]);
+        System.err.println(USAGE);
+        System.exit(2);
+        return;
+      }
+    }
+
+    final ChainedOptionsBuilder options =
+        new OptionsBuilder()
+            .include(ScalingBenchmark.class.getName())
+            .param(
+                "checker",
+                checker.equals("None") ? new String[] {"None"} : new String[] {checker, "None"})
+            .param("factor", factors.split(","))
+            .addProfiler(GCProfiler.class)
+            .jvmArgsAppend(exports());
+    if (quick) {
+      options
+          .warmupIterations(3)
+          .warmupTime(TimeValue.seconds(1))
+          .measurementIterations(3)
+          .measurementTime(TimeValue.seconds(1));
+    }
+    final Collection<RunResult> results = new Runner(options.build()).run();
+
+    final List<Point> points = new ArrayList<>();
+    for (final RunResult result : results) {
+      final String dimension = result.getParams().getParam("dimension");
+      final int factor = Integer.parseInt(result.getParams().getParam("factor"));
+      final Result<?> allocation = result.getSecondaryResults().get(ALLOCATION);
+      points.add(
+          new Point(
+              dimension,
+              result.getParams().getParam("checker"),
+              factor,
+              CorpusGenerator.size(
+                  ScalingBenchmark.corpus(CorpusGenerator.Dimension.valueOf(dimension), factor)),
+              result.getPrimaryResult().getScore(),
+              allocation == null ? Double.NaN : allocation.getScore()));
+    }
+    writeCsv(points, csv);
+    System.out.print(report(points, checker));
+  }
+
+  /** The report of the given points, with the cost of the checker measured against None. */
+  static String report(final List<Point> points, final String checker) {
+    final Map<String, Map<Integer, Point>> checked = series(points, checker);
+    final Map<String, Map<Integer, Point>> baseline = series(points, "None");
+    final StringBuilder report = new StringBuilder();
+    for (final Map.Entry<String, Map<Integer, Point>> series : checked.entrySet()) {
+      final Map<Integer, Point> baselineSeries = baseline.getOrDefault(series.getKey(), Map.of());
+      final List<double[]> time = new ArrayList<>();
+      final List<double[]> allocation = new ArrayList<>();
+      report.append(
+          String.format(
+              Locale.ROOT,
+              "%n%s (%s minus None)%n%8s %10s %12s %12s  %s%n",
+              series.getKey(),
+              checker,
+              "factor",
+              "chars",
+              "us",
+              "bytes",
+              "us per 1000 chars"));
+      double maxCostPerChar = 0;
+      for (final Point point : series.getValue().values()) {
+        final Point none = baselineSeries.get(point.factor);
+        final double cost = none == null ? point.micros : point.micros - none.micros;
+        maxCostPerChar = Math.max(maxCostPerChar, cost / point.size);
+      }
+      for (final Point point : series.getValue().values()) {
+        final Point none = baselineSeries.get(point.factor);
+        final double cost = none == null ? point.micros : point.micros - none.micros;
+        final double bytes = none == null ? point.bytes : point.bytes - none.bytes;
+        time.add(new double[] {point.size, cost});
+        allocation.add(new double[] {point.size, bytes});
+        final int bar =
+            maxCostPerChar <= 0
+                ? 0
+                : (int) Math.round(Math.max(0, cost / point.size) / maxCostPerChar * BAR_WIDTH);
+        report.append(
+            String.format(
+                Locale.ROOT,
+                "%8d %10d %12.1f %12.0f  %s %.3f%n",
+                point.factor,
+                point.size,
+                cost,
+                bytes,
+                "#".repeat(bar),
+                cost / point.size * 1000));
+      }
+      final double timeExponent = exponent(time);
+      final double allocationExponent = exponent(allocation);
+      report.append(
+          String.format(
+              Locale.ROOT,
+              "exponent: time %.2f, allocation %.2f%s%n",
+              timeExponent,
+              allocationExponent,
+              timeExponent > SUPERLINEAR || allocationExponent > SUPERLINEAR
+                  ? "  SUPERLINEAR"
+                  : ""));
+    }
+    return report.toString();
+  }
+
+  /**
+   * The least squares slope of log(cost) against log(size), or NaN when fewer than two points have
+   * a positive cost.
+   */
+  static double exponent(final List<double[]> points) {
+    double n = 0;
+    double sumX = 0;
+    double sumY = 0;
+    double sumXx = 0;
+    double sumXy = 0;
+    for (final double[] point : points) {
+      if (point[0] <= 0 || !(point[1] > 0)) {
+        continue;
+      }
+      final double x = Math.log(point[0]);
+      final double y = Math.log(point[1]);
+      n++;
+      sumX += x;
+      sumY += y;
+      sumXx += x * x;
+      sumXy += x * y;
+    }
+    final double denominator = n * sumXx - sumX * sumX;
+    return n < 2 || denominator == 0 ? Double.NaN : (n * sumXy - sumX * sumY) / denominator;
+  }
+
+  private static Map<String, Map<Integer, Point>> series(
+      final List<Point> points, final String checker) {
+    final Map<String, Map<Integer, Point>> series = new TreeMap<>();
+    for (final Point point : points) {
+      if (point.checker.equals(checker)) {
+        series.computeIfAbsent(point.dimension, d -> new TreeMap<>()).put(point.factor, point);
+      }
+    }
+    return series;
+  }
+
+  private static void writeCsv(final List<Point> points, final Path csv) throws IOException {
+    if (csv.toAbsolutePath().getParent() != null) {
+      Files.createDirectories(csv.toAbsolutePath().getParent());
+    }
+    try (PrintStream out = new PrintStream(Files.newOutputStream(csv), false, UTF_8)) {
+      out.println("dimension,checker,factor,chars,us,bytes");
+      for (final Point point : points) {
+        out.printf(
+            Locale.ROOT,
+            "%s,%s,%d,%d,%.3f,%.0f%n",
+            point.dimension,
+            point.checker,
+            point.factor,
+            point.size,
+            point.micros,
+            point.bytes);
+      }
+    }
+  }
+
+  // The forked benchmark JVMs need the same access to javac internals as this one.
+  private static String[] exports() {
+    return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+        .filter(
+            argument -> argument.startsWith("--add-exports") || argument.startsWith("--add-opens"))
+        .toArray(String[]::new);
+  }
+
+  /** One measured compilation of a corpus. */
+  static final class Point {
+    final String dimension;
+    final String checker;
+    final int factor;
+    final long size;
+    final double micros;
+    final double bytes;
+
+    Point(
+        final String dimension,
+        final String checker,
+        final int factor,
+        final long size,
+        final double micros,
+        final double bytes) {
+      this.dimension = dimension;
+      this.checker = checker;
+      this.factor = factor;
+      this.size = size;
+      this.micros = micros;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * Generates compilation units that exercise every check in this package, with a mix of code that is
+ * reported and code that is not.
+ */
+final class SyntheticSources {
+
+  private static final String UNIT_TEMPLATE =
+      """
+      package bench;
+
+      import java.security.MessageDigest;
+      import java.security.NoSuchAlgorithmException;
+      import java.security.SecureRandom;
+      import java.util.ArrayList;
+      import java.util.List;
+      import java.util.Map;
+      import java.util.Optional;
+
+      import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+      import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+      import it.unimi.dsi.fastutil.ints.IntArrayList;
+      import it.unimi.dsi.fastutil.ints.IntList;
+      import org.apache.logging.log4j.LogManager;
+      import org.apache.logging.log4j.Logger;
+      import picocli.CommandLine;
+
+      public class Synthetic%1$d {
+        private static final Logger LOG = LogManager.getLogger();
+        Logger unguardedLogger = LogManager.getLogger();
+
+        @CommandLine.Option(names = {"--Xexperimental-%1$d"})
+        private String experimental = "";
+
+        @CommandLine.Option(names = {"--regular-%1$d"}, hidden = true)
+        private String regular = "";
+
+        private final IntList values = new IntArrayList();
+        private final Int2ObjectMap<String> labels = new Int2ObjectOpenHashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private int badly_named_counter;
+
+      %2$s
+        private enum Mode {
+          FAST,
+          SLOW
+        }
+
+        private class inner_helper {
+          int apply(final int value) {
+            return value + 1;
+          }
+        }
+      }
+      """;
+
+  private static final String METHOD_TEMPLATE =
+      """
+        public Optional<Integer> find%1$d(final int key, final Mode mode) {
+          final int bound = Math.min(key, values.size());
+          long widened = Math.max(key, bound);
+          for (int index = 0; index < bound; index++) {
+            if (values.getInt(index) == key && mode == Mode.FAST) {
+              return Optional.of(index);
+            }
+          }
+          values.add(Integer.valueOf(key));
+          for (Map.Entry<Integer, String> entry : labels.entrySet()) {
+            if (entry.getValue() == names.get(0)) {
+              LOG.info("{} {}", entry.getKey(), widened);
+            }
+          }
+          Optional<Integer> maybe = key > 0 ? Optional.empty() : null;
+          return maybe;
+        }
+
+        public Optional<String> label_%1$d(int key) {
+          if (com.google.common.base.Objects.equal(labels.get(key), "")) {
+            return Optional.empty();
+          }
+          return Optional.ofNullable(labels.get(key)).map(String::trim);
+        }
+
+        public byte[] digest%1$d(final byte[] input) throws NoSuchAlgorithmException {
+          final SecureRandom random = new SecureRandom();
+          random.nextInt();
+          return MessageDigest.getInstance("SHA-256").digest(input);
+        }
+
+      """;
+
+  private SyntheticSources() {}
+
+  /**
+   * Creates the given number of compilation units, each declaring the given number of method
+   * groups.
+   */
+  static List<JavaFileObject> generate(final int units, final int methodsPerUnit) {
+    final List<JavaFileObject> sources = new ArrayList<>(units);
+    for (int unit = 0; unit < units; unit++) {
+      final StringBuilder methods = new StringBuilder();
+      for (int method = 0; method < methodsPerUnit; method++) {
+        methods.append(String.format(METHOD_TEMPLATE, method));
+      }
+      sources.add(
+          new InMemorySource(
+              "bench/Synthetic" + unit + ".java", String.format(UNIT_TEMPLATE, unit, methods)));
+    }
+    return sources;
+  }
+
+  /** A source file held in memory, so benchmarks do not measure the file system. */
+  static final class InMemorySource extends SimpleJavaFileObject {
+    private final String content;
+
+    InMemorySource(final String path, final String content) {
+      super(URI.create("mem:///" + path), Kind.SOURCE);
+      this.content = content;
+    }
+
+    @Override
+    public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+      return content;
+    }
+  }
+}
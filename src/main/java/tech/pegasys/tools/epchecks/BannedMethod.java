@@ -12,23 +12,54 @@
  */
 package tech.pegasys.tools.epchecks;
 
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import static com.google.errorprone.matchers.Description.NO_MATCH;
-import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import javax.inject.Inject;
 
 import com.google.auto.service.AutoService;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.BugPattern;
+import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.matchers.Description;
-import com.google.errorprone.matchers.Matcher;
-import com.sun.source.tree.ExpressionTree;
+import com.google.errorprone.suppliers.Supplier;
 import com.sun.source.tree.MethodInvocationTree;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.util.Name;
 
+/**
+ * Reports invocations of banned methods. Besides the built-in rules, more rules can be read from a
+ * file passed with <code>-XepOpt:BannedMethod:RulesFile=&lt;path&gt;</code>. Each non-blank line
+ * that does not start with <code>#</code> holds one rule:
+ *
+ * <pre>
+ * owner#method[(parameter types)] message
+ * java.lang.Thread#sleep(long) Do not sleep, schedule the work instead.
+ * </pre>
+ *
+ * <p>The owner is the fully qualified name of the class declaring the method, the method is its
+ * name or <code>*</code> for every method of the owner, and the optional parameter types are a
+ * comma separated list of erased types.
+ */
 @AutoService(BugChecker.class)
 @BugPattern(
     name = "BannedMethod",
@@ -37,21 +68,237 @@ import com.sun.source.tree.MethodInvocationTree;
     linkType = BugPattern.LinkType.NONE)
 public class BannedMethod extends BugChecker implements MethodInvocationTreeMatcher {
 
-  private static final ImmutableMap<Matcher<ExpressionTree>, String> BANNED_METHOD_LIST =
-      ImmutableMap.of(
-          staticMethod().onClass("com.google.common.base.Objects").withAnyName(),
-          "Do not use com.google.common.base.Objects methods, use java.util.Objects methods instead.",
-          staticMethod().onClass("org.junit.Assert"),
-          "Do not use junit assertions. Use assertj assertions instead.");
+  static final String RULES_FILE_FLAG = "BannedMethod:RulesFile";
+
+  private static final String ANY_METHOD = "*";
+
+  private static final ImmutableList<Rule> DEFAULT_RULES =
+      ImmutableList.of(
+          new Rule(
+              "com.google.common.base.Objects",
+              ANY_METHOD,
+              Optional.empty(),
+              "Do not use com.google.common.base.Objects methods, use java.util.Objects methods instead."),
+          new Rule(
+              "org.junit.Assert",
+              ANY_METHOD,
+              Optional.empty(),
+              "Do not use junit assertions. Use assertj assertions instead."));
+
+  private final Optional<String> rulesFile;
+  private final Supplier<Index> index;
+
+  // Parsed on the first match, so a disabled check never reads its rules file.
+  private ImmutableList<Rule> rules;
+  private InvocationDispatcher.Interest interest;
+
+  public BannedMethod() {
+    this(ErrorProneFlags.empty());
+  }
+
+  @Inject
+  public BannedMethod(final ErrorProneFlags flags) {
+    this.rulesFile = flags.get(RULES_FILE_FLAG);
+    // Symbols and names belong to a single compilation, so the index is built once per
+    // compilation from the rules that were parsed once per checker.
+    this.index = VisitorState.memoize(state -> Index.create(rules(), state));
+  }
 
   @Override
   public Description matchMethodInvocation(
       final MethodInvocationTree tree, final VisitorState state) {
-    for (final Map.Entry<Matcher<ExpressionTree>, String> entry : BANNED_METHOD_LIST.entrySet()) {
-      if (entry.getKey().matches(tree, state)) {
-        return buildDescription(tree).setMessage(entry.getValue()).build();
+    return CheckerRuntime.match(this, tree, state, BannedMethod::checkMethodInvocation);
+  }
+
+  private Description checkMethodInvocation(
+      final MethodInvocationTree tree, final VisitorState state) {
+    final MethodSymbol symbol =
+        InvocationDispatcher.instance(state).candidate(interest(), tree, state);
+    if (symbol == null) {
+      return NO_MATCH;
+    }
+    final Index rules = index.get(state);
+    final ImmutableListMultimap<Name, ResolvedRule> ownerRules = rules.byOwner.get(symbol.owner);
+    if (ownerRules == null) {
+      return NO_MATCH;
+    }
+    for (final ResolvedRule rule : ownerRules.get(symbol.getSimpleName())) {
+      if (rule.matchesParameters(symbol, state.getTypes())) {
+        return buildDescription(tree).setMessage(rule.message).build();
       }
     }
+    final List<ResolvedRule> anyMethodRules = ownerRules.get(rules.anyMethod);
+    if (!anyMethodRules.isEmpty()) {
+      return buildDescription(tree).setMessage(anyMethodRules.get(0).message).build();
+    }
     return NO_MATCH;
   }
+
+  private ImmutableList<Rule> rules() {
+    if (rules == null) {
+      rules =
+          ImmutableList.<Rule>builder()
+              .addAll(DEFAULT_RULES)
+              .addAll(rulesFile.map(BannedMethod::readRules).orElse(ImmutableList.of()))
+              .build();
+    }
+    return rules;
+  }
+
+  private InvocationDispatcher.Interest interest() {
+    if (interest == null) {
+      interest =
+          InvocationDispatcher.Interest.methodsOf(
+              rules().stream().map(rule -> rule.owner).collect(toImmutableSet()));
+    }
+    return interest;
+  }
+
+  private static ImmutableList<Rule> readRules(final String rulesFile) {
+    final List<String> lines;
+    try {
+      lines = Files.readAllLines(Path.of(rulesFile), UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to read banned method rules from " + rulesFile, e);
+    }
+    final ImmutableList.Builder<Rule> rules = ImmutableList.builder();
+    for (int i = 0; i < lines.size(); i++) {
+      final String line = lines.get(i).strip();
+      if (!line.isEmpty() && !line.startsWith("#")) {
+        rules.add(Rule.parse(line, rulesFile + ":" + (i + 1)));
+      }
+    }
+    return rules.build();
+  }
+
+  /** A banned method as written in a rules file. */
+  private static final class Rule {
+    private final String owner;
+    private final String method;
+    private final Optional<List<String>> parameterTypes;
+    private final String message;
+
+    private Rule(
+        final String owner,
+        final String method,
+        final Optional<List<String>> parameterTypes,
+        final String message) {
+      this.owner = owner;
+      this.method = method;
+      this.parameterTypes = parameterTypes;
+      this.message = message;
+    }
+
+    private static Rule parse(final String line, final String location) {
+      final int hash = line.indexOf('#');
+      final int open = line.indexOf('(');
+      final int space = line.indexOf(' ');
+      final boolean hasParameterTypes = open >= 0 && (space < 0 || open < space);
+      final int signatureEnd = hasParameterTypes ? line.indexOf(')', open) + 1 : space;
+      if (hash <= 0 || signatureEnd <= hash || line.substring(signatureEnd).isBlank()) {
+        throw new IllegalArgumentException(
+            "Invalid banned method rule at "
+                + location
+                + ", expected 'owner#method[(parameter types)] message'");
+      }
+      final String owner = line.substring(0, hash);
+      final String message = line.substring(signatureEnd).strip();
+      if (!hasParameterTypes) {
+        return new Rule(owner, line.substring(hash + 1, signatureEnd), Optional.empty(), message);
+      }
+      final String types = line.substring(open + 1, signatureEnd - 1);
+      return new Rule(
+          owner,
+          line.substring(hash + 1, open),
+          Optional.of(
+              types.isBlank() ? List.of() : Splitter.on(',').trimResults().splitToList(types)),
+          message);
+    }
+  }
+
+  /** A rule whose parameter types were resolved in the current compilation. */
+  private static final class ResolvedRule {
+    private final Optional<List<Type>> parameterTypes;
+    private final String message;
+
+    private ResolvedRule(final Optional<List<Type>> parameterTypes, final String message) {
+      this.parameterTypes = parameterTypes;
+      this.message = message;
+    }
+
+    private boolean matchesParameters(final MethodSymbol symbol, final Types types) {
+      if (parameterTypes.isEmpty()) {
+        return true;
+      }
+      final List<Type> expected = parameterTypes.get();
+      if (expected.size() != symbol.getParameters().size()) {
+        return false;
+      }
+      for (int i = 0; i < expected.size(); i++) {
+        if (!types.isSameType(types.erasure(symbol.getParameters().get(i).type), expected.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /** The rules of one compilation keyed by the owner's symbol and then by the method name. */
+  private static final class Index {
+    private final ImmutableMap<Symbol, ImmutableListMultimap<Name, ResolvedRule>> byOwner;
+    private final Name anyMethod;
+
+    private Index(
+        final ImmutableMap<Symbol, ImmutableListMultimap<Name, ResolvedRule>> byOwner,
+        final Name anyMethod) {
+      this.byOwner = byOwner;
+      this.anyMethod = anyMethod;
+    }
+
+    private static Index create(final List<Rule> rules, final VisitorState state) {
+      final Map<Symbol, ImmutableListMultimap.Builder<Name, ResolvedRule>> byOwner =
+          new LinkedHashMap<>();
+      for (final Rule rule : rules) {
+        final Symbol owner = state.getSymbolFromString(rule.owner);
+        // Rules for classes that are not part of this compilation can never match.
+        if (owner == null) {
+          continue;
+        }
+        resolve(rule, state)
+            .ifPresent(
+                resolved ->
+                    byOwner
+                        .computeIfAbsent(owner, o -> ImmutableListMultimap.builder())
+                        .put(state.getName(rule.method), resolved));
+      }
+      final ImmutableMap.Builder<Symbol, ImmutableListMultimap<Name, ResolvedRule>> index =
+          ImmutableMap.builder();
+      byOwner.forEach((owner, ownerRules) -> index.put(owner, ownerRules.build()));
+      return new Index(index.build(), state.getName(ANY_METHOD));
+    }
+
+    private static Optional<ResolvedRule> resolve(final Rule rule, final VisitorState state) {
+      if (rule.parameterTypes.isEmpty()) {
+        return Optional.of(new ResolvedRule(Optional.empty(), rule.message));
+      }
+      final ImmutableList.Builder<Type> types = ImmutableList.builder();
+      for (final String typeName : rule.parameterTypes.get()) {
+        final Type type = resolveType(typeName, state);
+        if (type == null) {
+          return Optional.empty();
+        }
+        types.add(state.getTypes().erasure(type));
+      }
+      return Optional.of(new ResolvedRule(Optional.of(types.build()), rule.message));
+    }
+
+    private static Type resolveType(final String typeName, final VisitorState state) {
+      if (typeName.endsWith("[]")) {
+        final Type component =
+            resolveType(typeName.substring(0, typeName.length() - 2).strip(), state);
+        return component == null ? null : state.arrayTypeForType(component);
+      }
+      return state.getTypeFromString(typeName);
+    }
+  }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import com.google.errorprone.VisitorState;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.util.Position;
+
+/**
+ * The changed lines of a patch, enabled with <code>-XepOpt:EpChecks:ChangedLinesFile=&lt;path&gt;
+ * </code>. Checks then only report on methods, and on classes outside of their methods, that
+ * overlap a changed line. Compilation units that are not part of the patch are skipped entirely.
+ *
+ * <p>The file is either a unified diff, as written by <code>git diff</code>, or holds one <code>
+ * path:line</code> or <code>path:first-last</code> range per line. Paths are relative to any
+ * directory, a path matches a compilation unit whose path ends with it.
+ */
+final class ChangedLines {
+
+  static final String CHANGED_LINES_FILE_FLAG = "EpChecks:ChangedLinesFile";
+
+  private static final Pattern HUNK = Pattern.compile("^@@ -\\S+ \\+(\\d+)(?:,(\\d+))? @@");
+  private static final Pattern LINE_RANGE = Pattern.compile("^(.+):(\\d+)(?:-(\\d+))?$");
+
+  // The changed files keyed by their file name, so a compilation unit is only compared with the
+  // files of the same name.
+  private final Map<String, List<ChangedFile>> filesByName;
+
+  // The changed lines of the compilation unit the checks are currently visiting, and whether the
+  // last method or class asked about overlaps them.
+  private CompilationUnitTree lastCompilationUnit;
+  private RangeSet<Long> lastRanges;
+  private Tree lastEnclosing;
+  private boolean lastEnclosingChanged;
+
+  private ChangedLines(final Map<String, List<ChangedFile>> filesByName) {
+    this.filesByName = filesByName;
+  }
+
+  static Optional<ChangedLines> create(final VisitorState state) {
+    return state
+        .errorProneOptions()
+        .getFlags()
+        .get(CHANGED_LINES_FILE_FLAG)
+        .map(file -> new ChangedLines(index(read(file))));
+  }
+
+  /** Whether the method or class enclosing the current tree overlaps a changed line. */
+  boolean isChanged(final VisitorState state) {
+    final CompilationUnitTree compilationUnit = state.getPath().getCompilationUnit();
+    if (compilationUnit != lastCompilationUnit) {
+      lastCompilationUnit = compilationUnit;
+      lastRanges = ranges(SourcePaths.path(compilationUnit));
+      lastEnclosing = null;
+    }
+    if (lastRanges.isEmpty()) {
+      return false;
+    }
+    final Tree enclosing = enclosingMethodOrClass(state.getPath());
+    // Package and import declarations are checked whenever the compilation unit changed.
+    if (enclosing == null) {
+      return true;
+    }
+    if (enclosing != lastEnclosing) {
+      lastEnclosing = enclosing;
+      lastEnclosingChanged = overlaps(enclosing, compilationUnit, state);
+    }
+    return lastEnclosingChanged;
+  }
+
+  private boolean overlaps(
+      final Tree tree, final CompilationUnitTree compilationUnit, final VisitorState state) {
+    final int start = TreeInfo.getStartPos((JCTree) tree);
+    final int end = state.getEndPosition(tree);
+    if (start == Position.NOPOS || end == Position.NOPOS) {
+      return true;
+    }
+    return lastRanges.intersects(
+        Range.closed(
+            compilationUnit.getLineMap().getLineNumber(start),
+            compilationUnit.getLineMap().getLineNumber(end)));
+  }
+
+  private static Tree enclosingMethodOrClass(final TreePath path) {
+    for (TreePath current = path; current != null; current = current.getParentPath()) {
+      final Tree tree = current.getLeaf();
+      if (tree instanceof MethodTree || tree instanceof ClassTree) {
+        return tree;
+      }
+    }
+    return null;
+  }
+
+  private RangeSet<Long> ranges(final Path path) {
+    final Path fileName = path.getFileName();
+    final List<ChangedFile> files = fileName == null ? null : filesByName.get(fileName.toString());
+    if (files != null) {
+      for (final ChangedFile file : files) {
+        if (path.endsWith(file.path)) {
+          return file.lines;
+        }
+      }
+    }
+    return ImmutableRangeSet.of();
+  }
+
+  private static Map<String, List<ChangedFile>> index(final Map<Path, RangeSet<Long>> changes) {
+    final Map<String, List<ChangedFile>> filesByName = new HashMap<>();
+    changes.forEach(
+        (path, lines) ->
+            filesByName
+                .computeIfAbsent(path.getFileName().toString(), name -> new ArrayList<>())
+                .add(new ChangedFile(path, ImmutableRangeSet.copyOf(lines))));
+    return filesByName;
+  }
+
+  private static Map<Path, RangeSet<Long>> read(final String changedLinesFile) {
+    final List<String> lines;
+    try {
+      lines = Files.readAllLines(Path.of(changedLinesFile), UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to read changed lines from " + changedLinesFile, e);
+    }
+    final boolean unifiedDiff =
+        lines.stream().anyMatch(line -> line.startsWith("+++ ") || line.startsWith("diff --git "));
+    return unifiedDiff ? parseUnifiedDiff(lines) : parseLineRanges(lines, changedLinesFile);
+  }
+
+  private static Map<Path, RangeSet<Long>> parseUnifiedDiff(final List<String> lines) {
+    final Map<Path, RangeSet<Long>> changes = new LinkedHashMap<>();
+    RangeSet<Long> current = null;
+    for (final String line : lines) {
+      if (line.startsWith("+++ ")) {
+        final String path = line.substring(4).split("\t", 2)[0].strip();
+        // Deleted files have no lines left to check.
+        current =
+            path.equals("/dev/null")
+                ? null
+                : changes.computeIfAbsent(
+                    Path.of(path.startsWith("b/") ? path.substring(2) : path),
+                    p -> TreeRangeSet.create());
+        continue;
+      }
+      final Matcher hunk = HUNK.matcher(line);
+      if (current != null && hunk.find()) {
+        final long first = Long.parseLong(hunk.group(1));
+        final long count = hunk.group(2) == null ? 1 : Long.parseLong(hunk.group(2));
+        // A hunk without new lines removed lines between its first line and the next one.
+        current.add(Range.closed(first, count == 0 ? first + 1 : first + count - 1));
+      }
+    }
+    return changes;
+  }
+
+  private static Map<Path, RangeSet<Long>> parseLineRanges(
+      final List<String> lines, final String changedLinesFile) {
+    final Map<Path, RangeSet<Long>> changes = new LinkedHashMap<>();
+    for (int i = 0; i < lines.size(); i++) {
+      final String line = lines.get(i).strip();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      final Matcher range = LINE_RANGE.matcher(line);
+      if (!range.matches()) {
+        throw new IllegalArgumentException(
+            "Invalid changed lines at "
+                + changedLinesFile
+                + ":"
+                + (i + 1)
+                + ", expected 'path:line' or 'path:first-last'");
+      }
+      final long first = Long.parseLong(range.group(2));
+      final long last = range.group(3) == null ? first : Long.parseLong(range.group(3));
+      changes
+          .computeIfAbsent(Path.of(range.group(1)), p -> TreeRangeSet.create())
+          .add(Range.closed(first, last));
+    }
+    return changes;
+  }
+
+  /** The changed lines of a file of the patch. */
+  private static final class ChangedFile {
+    private final Path path;
+    private final RangeSet<Long> lines;
+
+    private ChangedFile(final Path path, final RangeSet<Long> lines) {
+      this.path = path;
+      this.lines = lines;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.matchers.Description;
+import com.sun.source.util.JavacTask;
+
+/**
+ * Receives the findings of the checks in this package as they are reported, with their fixes, for
+ * tools that host the compiler and need more than the diagnostics javac prints.
+ */
+@FunctionalInterface
+public interface CheckerListener {
+
+  /** Called for every finding, with the state of the tree it was reported on. */
+  void onFinding(Description description, VisitorState state);
+
+  /** Registers the listener for the findings of the given, not yet started, compilation task. */
+  static void register(final JavacTask task, final CheckerListener listener) {
+    CheckerRuntime.register(task, listener);
+  }
+}
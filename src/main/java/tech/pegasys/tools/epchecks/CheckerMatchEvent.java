@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event for one match callback of a check, emitted when check timings are
+ * enabled and a recording is running.
+ */
+@Name("tech.pegasys.tools.epchecks.CheckerMatch")
+@Label("Check Match")
+@Category({"Error Prone", "epchecks"})
+@jdk.jfr.Description("Time spent by an Error Prone check matching one tree.")
+@StackTrace(false)
+final class CheckerMatchEvent extends Event {
+
+  @Label("Check")
+  String checker;
+
+  @Label("Tree Kind")
+  String treeKind;
+
+  @Label("Source File")
+  String sourceFile;
+}
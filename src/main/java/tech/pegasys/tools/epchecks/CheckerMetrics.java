@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.sun.source.tree.ExpressionTree;
+
+/**
+ * Counts the findings of every check in a compilation by check, severity and package, enabled with
+ * <code>-XepOpt:EpChecks:MetricsFile=&lt;path&gt;</code>, along with the methods and lambdas a
+ * check found too large for its dataflow analysis. When the compilation finishes, the counts are
+ * written to the file in the Prometheus text exposition format.
+ */
+final class CheckerMetrics {
+
+  static final String METRICS_FILE_FLAG = "EpChecks:MetricsFile";
+
+  private static final String METRIC = "epchecks_findings_total";
+  private static final String SKIPPED_DATAFLOW_METRIC = "epchecks_dataflow_skipped_total";
+  private static final Comparator<Finding> FINDING_ORDER =
+      Comparator.comparing((Finding finding) -> finding.check)
+          .thenComparing(finding -> finding.severity)
+          .thenComparing(finding -> finding.packageName);
+
+  private final Path metricsFile;
+  private final Map<Finding, Long> findings = new HashMap<>();
+  private final Map<Finding, Long> skippedDataflow = new HashMap<>();
+
+  private CheckerMetrics(final Path metricsFile) {
+    this.metricsFile = metricsFile;
+  }
+
+  static Optional<CheckerMetrics> create(final VisitorState state) {
+    final Optional<String> metricsFile =
+        state.errorProneOptions().getFlags().get(METRICS_FILE_FLAG);
+    if (metricsFile.isEmpty()) {
+      return Optional.empty();
+    }
+    final CheckerMetrics metrics = new CheckerMetrics(Path.of(metricsFile.get()));
+    CheckerRuntime.whenCompilationFinished(state, metrics::writeMetrics);
+    return Optional.of(metrics);
+  }
+
+  void record(final BugChecker checker, final VisitorState state) {
+    findings.merge(finding(checker, state), 1L, Long::sum);
+  }
+
+  void recordSkippedDataflow(final BugChecker checker, final VisitorState state) {
+    skippedDataflow.merge(finding(checker, state), 1L, Long::sum);
+  }
+
+  private static Finding finding(final BugChecker checker, final VisitorState state) {
+    final SeverityLevel severity =
+        state.severityMap().getOrDefault(checker.canonicalName(), checker.defaultSeverity());
+    final ExpressionTree packageName = state.getPath().getCompilationUnit().getPackageName();
+    return new Finding(
+        checker.canonicalName(),
+        severity.name(),
+        packageName == null ? "" : state.getSourceForNode(packageName));
+  }
+
+  private void writeMetrics() {
+    try {
+      CheckerRuntime.createParentDirectories(metricsFile);
+      try (BufferedWriter writer = Files.newBufferedWriter(metricsFile, UTF_8)) {
+        writeCounter(
+            writer, METRIC, "Findings reported by the epchecks Error Prone checks.", findings);
+        // Only checks with a statement budget skip the dataflow, so this is usually absent.
+        if (!skippedDataflow.isEmpty()) {
+          writeCounter(
+              writer,
+              SKIPPED_DATAFLOW_METRIC,
+              "Methods and lambdas too large for the dataflow analysis of a check.",
+              skippedDataflow);
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to write check metrics to " + metricsFile, e);
+    }
+  }
+
+  private static void writeCounter(
+      final BufferedWriter writer,
+      final String metric,
+      final String help,
+      final Map<Finding, Long> counts)
+      throws IOException {
+    writer.write("# HELP " + metric + " " + help + "\n");
+    writer.write("# TYPE " + metric + " counter\n");
+    for (final Finding finding : counts.keySet().stream().sorted(FINDING_ORDER).toList()) {
+      writer.write(
+          metric
+              + "{check=\""
+              + escape(finding.check)
+              + "\",severity=\""
+              + escape(finding.severity)
+              + "\",package=\""
+              + escape(finding.packageName)
+              + "\"} "
+              + counts.get(finding)
+              + "\n");
+    }
+  }
+
+  // Label values escape backslashes, double quotes and line feeds.
+  private static String escape(final String labelValue) {
+    return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static final class Finding {
+    private final String check;
+    private final String severity;
+    private final String packageName;
+
+    private Finding(final String check, final String severity, final String packageName) {
+      this.check = check;
+      this.severity = severity;
+      this.packageName = packageName;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Finding)) {
+        return false;
+      }
+      final Finding finding = (Finding) other;
+      return check.equals(finding.check)
+          && severity.equals(finding.severity)
+          && packageName.equals(finding.packageName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(check, severity, packageName);
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.matchers.Description;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.api.MultiTaskListener;
+import com.sun.tools.javac.util.Context;
+
+/**
+ * Runs the match callbacks of the checks in this package. Every callback hands its matching logic
+ * to {@link #match}, so the opt-in features configured with Error Prone flags apply to all checks
+ * in the same way. Without any of those flags a match costs one lookup in the compiler context.
+ *
+ * <p>Generated compilation units, as recognized by {@link GeneratedCode}, are skipped by every
+ * check, and each check skips the compilation units outside of its {@link PathRules}. Both are
+ * decided once per compilation unit, when the first check visits it. With {@link ChangedLines},
+ * checks also skip the methods and classes that a patch did not change, and with {@link
+ * ResultCache} they report the stored findings of unchanged compilation units instead of matching.
+ */
+final class CheckerRuntime {
+
+  /**
+   * The matching logic of a check. Checks pass it as an unbound method reference, which captures
+   * nothing and is therefore not allocated per call.
+   */
+  @FunctionalInterface
+  interface CheckMatcher<C extends BugChecker, T extends Tree> {
+    Description match(C checker, T tree, VisitorState state);
+  }
+
+  private static final Context.Key<CheckerRuntime> KEY = new Context.Key<>();
+  private static final Context.Key<CheckerListener> LISTENER_KEY = new Context.Key<>();
+
+  private final ErrorProneFlags flags;
+  private final GeneratedCode generatedCode;
+  private final CheckerTimings timings;
+  private final CheckerMetrics metrics;
+  private final ChangedLines changedLines;
+  private final ResultCache resultCache;
+  private final CheckerListener listener;
+  private final Map<String, PathRules> pathRules = new HashMap<>();
+
+  // Whether the compilation unit the checks are currently visiting is skipped, by all checks when
+  // it is generated, otherwise by the checks whose path rules exclude it.
+  private CompilationUnitTree lastCompilationUnit;
+  private boolean lastGenerated;
+  private Path lastPath;
+  private final Map<String, Boolean> lastSkippedByCheck = new HashMap<>();
+
+  private CheckerRuntime(
+      final ErrorProneFlags flags,
+      final GeneratedCode generatedCode,
+      final CheckerTimings timings,
+      final CheckerMetrics metrics,
+      final ChangedLines changedLines,
+      final ResultCache resultCache,
+      final CheckerListener listener) {
+    this.flags = flags;
+    this.generatedCode = generatedCode;
+    this.timings = timings;
+    this.metrics = metrics;
+    this.changedLines = changedLines;
+    this.resultCache = resultCache;
+    this.listener = listener;
+  }
+
+  static <C extends BugChecker, T extends Tree> Description match(
+      final C checker, final T tree, final VisitorState state, final CheckMatcher<C, T> matcher) {
+    final CheckerRuntime runtime = instance(state);
+    if (runtime.isSkipped(checker, state.getPath().getCompilationUnit())) {
+      return Description.NO_MATCH;
+    }
+    if (runtime.changedLines != null && !runtime.changedLines.isChanged(state)) {
+      return Description.NO_MATCH;
+    }
+    if (runtime.resultCache != null && runtime.resultCache.isCached(state)) {
+      for (final Description cached : runtime.resultCache.replay(checker)) {
+        state.reportMatch(cached);
+        runtime.recordFinding(checker, cached, state);
+      }
+      return Description.NO_MATCH;
+    }
+    final Description description =
+        runtime.timings != null
+            ? runtime.timings.time(checker, tree, state, matcher)
+            : matcher.match(checker, tree, state);
+    if (description != Description.NO_MATCH) {
+      runtime.recordFinding(checker, description, state);
+      if (runtime.resultCache != null) {
+        runtime.resultCache.record(description);
+      }
+    }
+    return description;
+  }
+
+  private void recordFinding(
+      final BugChecker checker, final Description description, final VisitorState state) {
+    if (metrics != null) {
+      metrics.record(checker, state);
+    }
+    if (listener != null) {
+      listener.onFinding(description, state);
+    }
+  }
+
+  /** Counts a method or lambda that was too large for the dataflow analysis of the given check. */
+  static void recordSkippedDataflow(final BugChecker checker, final VisitorState state) {
+    final CheckerRuntime runtime = instance(state);
+    if (runtime.metrics != null) {
+      runtime.metrics.recordSkippedDataflow(checker, state);
+    }
+  }
+
+  static void register(final JavacTask task, final CheckerListener listener) {
+    ((BasicJavacTask) task).getContext().put(LISTENER_KEY, listener);
+  }
+
+  private boolean isSkipped(final BugChecker checker, final CompilationUnitTree compilationUnit) {
+    if (compilationUnit != lastCompilationUnit) {
+      lastCompilationUnit = compilationUnit;
+      lastGenerated = generatedCode.isGenerated(compilationUnit);
+      lastPath = null;
+      lastSkippedByCheck.clear();
+    }
+    if (lastGenerated) {
+      return true;
+    }
+    final String checkName = checker.canonicalName();
+    PathRules rules = pathRules.get(checkName);
+    if (rules == null) {
+      rules = PathRules.create(flags, checkName);
+      pathRules.put(checkName, rules);
+    }
+    if (rules == PathRules.ALL) {
+      return false;
+    }
+    Boolean skipped = lastSkippedByCheck.get(checkName);
+    if (skipped == null) {
+      if (lastPath == null) {
+        lastPath = SourcePaths.path(compilationUnit);
+      }
+      skipped = !rules.appliesTo(lastPath);
+      lastSkippedByCheck.put(checkName, skipped);
+    }
+    return skipped;
+  }
+
+  /** Runs the given action once the compilation of the given state has finished. */
+  static void whenCompilationFinished(final VisitorState state, final Runnable action) {
+    MultiTaskListener.instance(state.context)
+        .add(
+            new TaskListener() {
+              @Override
+              public void finished(final TaskEvent event) {
+                if (event.getKind() == TaskEvent.Kind.COMPILATION) {
+                  action.run();
+                }
+              }
+            });
+  }
+
+  static void createParentDirectories(final Path file) throws IOException {
+    final Path directory = file.toAbsolutePath().getParent();
+    if (directory != null) {
+      Files.createDirectories(directory);
+    }
+  }
+
+  // One runtime per compilation, created from the flags of that compilation.
+  private static CheckerRuntime instance(final VisitorState state) {
+    final Context context = state.context;
+    CheckerRuntime runtime = context.get(KEY);
+    if (runtime == null) {
+      final ErrorProneFlags flags = state.errorProneOptions().getFlags();
+      if (flags.getBoolean(EqualityIndex.WRITE_INDEX_FLAG).orElse(false)) {
+        EqualityIndex.writeWhenCompilationFinished(state);
+      }
+      runtime =
+          new CheckerRuntime(
+              flags,
+              GeneratedCode.create(flags),
+              CheckerTimings.create(state).orElse(null),
+              CheckerMetrics.create(state).orElse(null),
+              ChangedLines.create(state).orElse(null),
+              ResultCache.create(state).orElse(null),
+              context.get(LISTENER_KEY));
+      context.put(KEY, runtime);
+    }
+    return runtime;
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.matchers.Description;
+import com.sun.source.tree.Tree;
+
+/**
+ * Times the match callbacks of every check in a compilation, enabled with <code>
+ * -XepOpt:EpChecks:TimingsFile=&lt;path&gt;</code>. Each callback is also recorded as a {@link
+ * CheckerMatchEvent}. When the compilation finishes, the number of calls, the total time and the
+ * 99th percentile time of each check are written to the file, slowest check first.
+ */
+final class CheckerTimings {
+
+  static final String TIMINGS_FILE_FLAG = "EpChecks:TimingsFile";
+
+  private final Path timingsFile;
+  private final Map<String, Timing> timingsByChecker = new HashMap<>();
+
+  private CheckerTimings(final Path timingsFile) {
+    this.timingsFile = timingsFile;
+  }
+
+  static Optional<CheckerTimings> create(final VisitorState state) {
+    final Optional<String> timingsFile =
+        state.errorProneOptions().getFlags().get(TIMINGS_FILE_FLAG);
+    if (timingsFile.isEmpty()) {
+      return Optional.empty();
+    }
+    final CheckerTimings timings = new CheckerTimings(Path.of(timingsFile.get()));
+    CheckerRuntime.whenCompilationFinished(state, timings::writeSummary);
+    return Optional.of(timings);
+  }
+
+  <C extends BugChecker, T extends Tree> Description time(
+      final C checker,
+      final T tree,
+      final VisitorState state,
+      final CheckerRuntime.CheckMatcher<C, T> matcher) {
+    final CheckerMatchEvent event = new CheckerMatchEvent();
+    event.begin();
+    final long start = System.nanoTime();
+    try {
+      return matcher.match(checker, tree, state);
+    } finally {
+      final long elapsed = System.nanoTime() - start;
+      event.end();
+      timingsByChecker.computeIfAbsent(checker.canonicalName(), name -> new Timing()).add(elapsed);
+      if (event.shouldCommit()) {
+        event.checker = checker.canonicalName();
+        event.treeKind = tree.getKind().name();
+        event.sourceFile = state.getPath().getCompilationUnit().getSourceFile().getName();
+        event.commit();
+      }
+    }
+  }
+
+  private void writeSummary() {
+    final List<Map.Entry<String, Timing>> timings = new ArrayList<>(timingsByChecker.entrySet());
+    timings.sort(
+        Comparator.comparingLong((Map.Entry<String, Timing> entry) -> entry.getValue().totalNanos)
+            .reversed());
+    try {
+      CheckerRuntime.createParentDirectories(timingsFile);
+      try (BufferedWriter writer = Files.newBufferedWriter(timingsFile, UTF_8)) {
+        writer.write("check\tcalls\ttotal_ms\tp99_us\n");
+        for (final Map.Entry<String, Timing> entry : timings) {
+          final Timing timing = entry.getValue();
+          writer.write(
+              String.format(
+                  Locale.ROOT,
+                  "%s\t%d\t%.3f\t%.3f%n",
+                  entry.getKey(),
+                  timing.calls,
+                  timing.totalNanos / 1e6,
+                  timing.percentile(0.99) / 1e3));
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to write check timings to " + timingsFile, e);
+    }
+  }
+
+  /**
+   * The calls of one check. Durations are kept in a histogram with eight buckets per power of two,
+   * so percentiles are accurate to about 12% whatever the number of calls.
+   */
+  private static final class Timing {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] buckets = new long[SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS + 1)];
+    private long calls;
+    private long totalNanos;
+    private long maxNanos;
+
+    void add(final long nanos) {
+      final long duration = Math.max(nanos, 0);
+      buckets[bucket(duration)]++;
+      calls++;
+      totalNanos += duration;
+      maxNanos = Math.max(maxNanos, duration);
+    }
+
+    /** The upper bound of the bucket holding the given percentile, in nanoseconds. */
+    long percentile(final double percentile) {
+      final long rank = (long) Math.ceil(percentile * calls);
+      long seen = 0;
+      for (int bucket = 0; bucket < buckets.length; bucket++) {
+        seen += buckets[bucket];
+        if (seen >= rank && seen > 0) {
+          return Math.min(upperBound(bucket), maxNanos);
+        }
+      }
+      return maxNanos;
+    }
+
+    private static int bucket(final long nanos) {
+      if (nanos < SUB_BUCKETS) {
+        return (int) nanos;
+      }
+      final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+      final int shift = exponent - SUB_BUCKET_BITS;
+      return SUB_BUCKETS * (shift + 1) + (int) ((nanos >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long upperBound(final int bucket) {
+      if (bucket < SUB_BUCKETS) {
+        return bucket;
+      }
+      final int shift = bucket / SUB_BUCKETS - 1;
+      final long mantissa = SUB_BUCKETS + bucket % SUB_BUCKETS;
+      final long upperBound = ((mantissa + 1) << shift) - 1;
+      return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+  }
+}
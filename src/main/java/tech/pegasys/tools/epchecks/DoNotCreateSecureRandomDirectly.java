@@ -13,6 +13,7 @@
 package tech.pegasys.tools.epchecks;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
 import com.google.auto.service.AutoService;
 import com.google.errorprone.BugPattern;
@@ -21,10 +22,13 @@ import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
 import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.NewClassTree;
 import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
 
 @AutoService(BugChecker.class)
 @BugPattern(
@@ -35,11 +39,27 @@ import com.sun.tools.javac.code.Symbol;
 public class DoNotCreateSecureRandomDirectly extends BugChecker
     implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
 
-  @SuppressWarnings("TreeToString")
+  private static final InvocationDispatcher.Interest GET_INSTANCE_CALLS =
+      InvocationDispatcher.Interest.methodsNamed("getInstance");
+  private static final String SECURE_RANDOM = "java.security.SecureRandom";
+  private static final Matcher<ExpressionTree> SECURE_RANDOM_GET_INSTANCE =
+      staticMethod().onDescendantOf(SECURE_RANDOM).named("getInstance");
+
   @Override
   public Description matchMethodInvocation(
       final MethodInvocationTree tree, final VisitorState state) {
-    if (tree.getMethodSelect().toString().equals("SecureRandom.getInstance")) {
+    return CheckerRuntime.match(
+        this, tree, state, DoNotCreateSecureRandomDirectly::checkMethodInvocation);
+  }
+
+  private Description checkMethodInvocation(
+      final MethodInvocationTree tree, final VisitorState state) {
+    // Only calls of methods named getInstance get past the dispatcher. The static method is also
+    // reported when it is called through the name of a subclass.
+    if (InvocationDispatcher.instance(state).candidate(GET_INSTANCE_CALLS, tree, state) == null) {
+      return Description.NO_MATCH;
+    }
+    if (SECURE_RANDOM_GET_INSTANCE.matches(tree, state)) {
       return describeMatch(tree);
     }
 
@@ -48,8 +68,15 @@ public class DoNotCreateSecureRandomDirectly extends BugChecker
 
   @Override
   public Description matchNewClass(final NewClassTree tree, final VisitorState state) {
+    return CheckerRuntime.match(this, tree, state, DoNotCreateSecureRandomDirectly::checkNewClass);
+  }
+
+  private Description checkNewClass(final NewClassTree tree, final VisitorState state) {
+    // The identifier rather than the constructor is compared, so anonymous subclasses declared
+    // with new SecureRandom() {} are reported too.
     final Symbol sym = ASTHelpers.getSymbol(tree.getIdentifier());
-    if (sym != null && sym.toString().equals("java.security.SecureRandom")) {
+    final Type secureRandom = TypeFacts.instance(state).type(SECURE_RANDOM, state);
+    if (sym != null && secureRandom != null && sym == secureRandom.tsym) {
       return describeMatch(tree);
     }
 
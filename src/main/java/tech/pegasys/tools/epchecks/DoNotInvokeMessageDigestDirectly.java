@@ -13,6 +13,7 @@
 package tech.pegasys.tools.epchecks;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
 import com.google.auto.service.AutoService;
 import com.google.errorprone.BugPattern;
@@ -20,6 +21,8 @@ import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.MethodInvocationTree;
 
 @AutoService(BugChecker.class)
@@ -31,11 +34,25 @@ import com.sun.source.tree.MethodInvocationTree;
 public class DoNotInvokeMessageDigestDirectly extends BugChecker
     implements MethodInvocationTreeMatcher {
 
-  @SuppressWarnings("TreeToString")
+  private static final InvocationDispatcher.Interest GET_INSTANCE_CALLS =
+      InvocationDispatcher.Interest.methodsNamed("getInstance");
+  private static final Matcher<ExpressionTree> MESSAGE_DIGEST_GET_INSTANCE =
+      staticMethod().onDescendantOf("java.security.MessageDigest").named("getInstance");
+
   @Override
   public Description matchMethodInvocation(
       final MethodInvocationTree tree, final VisitorState state) {
-    if (tree.getMethodSelect().toString().equals("MessageDigest.getInstance")) {
+    return CheckerRuntime.match(
+        this, tree, state, DoNotInvokeMessageDigestDirectly::checkMethodInvocation);
+  }
+
+  private Description checkMethodInvocation(
+      final MethodInvocationTree tree, final VisitorState state) {
+    // Only calls of methods named getInstance get past the dispatcher.
+    if (InvocationDispatcher.instance(state).candidate(GET_INSTANCE_CALLS, tree, state) == null) {
+      return Description.NO_MATCH;
+    }
+    if (MESSAGE_DIGEST_GET_INSTANCE.matches(tree, state)) {
       return describeMatch(tree);
     }
     return Description.NO_MATCH;
@@ -15,8 +15,13 @@ package tech.pegasys.tools.epchecks;
 import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
 import static com.google.errorprone.matchers.Description.NO_MATCH;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+import javax.inject.Inject;
+
 import com.google.auto.service.AutoService;
 import com.google.errorprone.BugPattern;
+import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.bugpatterns.BugChecker.ReturnTreeMatcher;
@@ -24,10 +29,18 @@ import com.google.errorprone.dataflow.nullnesspropagation.Nullness;
 import com.google.errorprone.dataflow.nullnesspropagation.TrustingNullnessAnalysis;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ConditionalExpressionTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.code.Type;
 
 @AutoService(BugChecker.class)
@@ -38,13 +51,60 @@ import com.sun.tools.javac.code.Type;
     linkType = BugPattern.LinkType.NONE)
 public class DoNotReturnNullOptionals extends BugChecker implements ReturnTreeMatcher {
 
+  static final String MAX_STATEMENTS_FLAG = "DoNotReturnNullOptionals:MaxStatements";
+
+  private static final String OPTIONAL = "java.util.Optional";
+
+  /** What the shape of a returned expression alone says about its nullness. */
+  private enum Classification {
+    NULL,
+    NON_NULL,
+    UNKNOWN
+  }
+
+  // The method or lambda enclosing the last visited return, and whether it returns an Optional.
+  // Returns are visited in source order, so consecutive returns mostly share the same one.
+  private Tree lastEnclosing;
+  private boolean lastEnclosingReturnsOptional;
+
+  // The dataflow is skipped for methods and lambdas with more statements than this. Whether each
+  // one of the current compilation unit fits is kept, as returns of a method and of its nested
+  // lambdas interleave.
+  private final int maxStatements;
+  private final Map<Tree, Boolean> withinBudget = new IdentityHashMap<>();
+  private CompilationUnitTree withinBudgetCompilationUnit;
+
+  public DoNotReturnNullOptionals() {
+    this(ErrorProneFlags.empty());
+  }
+
+  @Inject
+  public DoNotReturnNullOptionals(final ErrorProneFlags flags) {
+    this.maxStatements = flags.getInteger(MAX_STATEMENTS_FLAG).orElse(Integer.MAX_VALUE);
+  }
+
   @Override
   public Description matchReturn(final ReturnTree tree, final VisitorState state) {
-    final Type returnType = getReturnType(state);
-    if (returnType == null || !isOptional(returnType)) {
+    return CheckerRuntime.match(this, tree, state, DoNotReturnNullOptionals::checkReturn);
+  }
+
+  private Description checkReturn(final ReturnTree tree, final VisitorState state) {
+    if (!returnsOptional(state)) {
       return NO_MATCH;
     }
 
+    switch (classify(tree.getExpression(), state)) {
+      case NULL:
+        return describeMatch(tree);
+      case NON_NULL:
+        return NO_MATCH;
+      default:
+        // Only the dataflow can tell, if the method is small enough to afford it.
+        if (!isWithinBudget(state)) {
+          return NO_MATCH;
+        }
+    }
+
     /*
      * This block of code checks if the return value is null/nullable in some data flow. We use the
      * "trusting" nullness analysis here because the other one (NullnessAnalysis) will incorrectly
@@ -66,27 +126,110 @@ public class DoNotReturnNullOptionals extends BugChecker implements ReturnTreeMa
     return describeMatch(tree);
   }
 
-  // This logic comes from the IntLongMath check:
-  // https://github.com/google/error-prone/blob/5391186274d64031b5536a3e95fc1750711fb4b2/core/src/main/java/com/google/errorprone/bugpatterns/IntLongMath.java#L50-L72
-  private static Type getReturnType(final VisitorState state) {
-    Type type = null;
-    outer:
+  /**
+   * Classifies the returned expressions whose nullness is evident from the tree: the null literal,
+   * new instances and the result of the Optional methods that return an Optional, such as
+   * Optional.of(..), Optional.empty() or a .map(..) chain, none of which can be null. Optional
+   * methods returning the value, such as get() or orElse(..), are left to the dataflow.
+   */
+  private static Classification classify(final ExpressionTree tree, final VisitorState state) {
+    final ExpressionTree expression = ASTHelpers.stripParentheses(tree);
+    switch (expression.getKind()) {
+      case NULL_LITERAL:
+        return Classification.NULL;
+      case NEW_CLASS:
+        return Classification.NON_NULL;
+      case METHOD_INVOCATION:
+        final MethodSymbol method = ASTHelpers.getSymbol((MethodInvocationTree) expression);
+        final Symbol optional = TypeFacts.instance(state).type(OPTIONAL, state).tsym;
+        // The declared return type, which is T for orElse(..) even on an Optional of Optionals.
+        return method.owner == optional && method.getReturnType().tsym == optional
+            ? Classification.NON_NULL
+            : Classification.UNKNOWN;
+      case CONDITIONAL_EXPRESSION:
+        final ConditionalExpressionTree conditional = (ConditionalExpressionTree) expression;
+        final Classification whenTrue = classify(conditional.getTrueExpression(), state);
+        final Classification whenFalse = classify(conditional.getFalseExpression(), state);
+        if (whenTrue == Classification.NULL || whenFalse == Classification.NULL) {
+          return Classification.NULL;
+        }
+        return whenTrue == whenFalse ? whenTrue : Classification.UNKNOWN;
+      default:
+        return Classification.UNKNOWN;
+    }
+  }
+
+  private boolean returnsOptional(final VisitorState state) {
+    final Tree enclosing = getEnclosingMethodOrLambda(state);
+    if (enclosing != lastEnclosing) {
+      final Type returnType = enclosing == null ? null : getReturnType(enclosing, state);
+      // Optional is only known once the compilation refers to it.
+      final Type optional = TypeFacts.instance(state).type(OPTIONAL, state);
+      lastEnclosing = enclosing;
+      lastEnclosingReturnsOptional =
+          returnType != null && optional != null && returnType.tsym == optional.tsym;
+    }
+    return lastEnclosingReturnsOptional;
+  }
+
+  private boolean isWithinBudget(final VisitorState state) {
+    if (maxStatements == Integer.MAX_VALUE) {
+      return true;
+    }
+    final CompilationUnitTree compilationUnit = state.getPath().getCompilationUnit();
+    if (compilationUnit != withinBudgetCompilationUnit) {
+      withinBudgetCompilationUnit = compilationUnit;
+      withinBudget.clear();
+    }
+    Boolean fits = withinBudget.get(lastEnclosing);
+    if (fits == null) {
+      final StatementCounter counter = new StatementCounter(maxStatements);
+      counter.scan(lastEnclosing, null);
+      fits = counter.count <= maxStatements;
+      withinBudget.put(lastEnclosing, fits);
+      if (!fits) {
+        CheckerRuntime.recordSkippedDataflow(this, state);
+      }
+    }
+    return fits;
+  }
+
+  private static Tree getEnclosingMethodOrLambda(final VisitorState state) {
     for (Tree parent : state.getPath()) {
-      switch (parent.getKind()) {
-        case METHOD:
-          type = ASTHelpers.getType(((MethodTree) parent).getReturnType());
-          break outer;
-        case LAMBDA_EXPRESSION:
-          type = state.getTypes().findDescriptorType(ASTHelpers.getType(parent)).getReturnType();
-          break outer;
-        default:
-          // Fall out.
+      if (parent.getKind() == Tree.Kind.METHOD || parent.getKind() == Tree.Kind.LAMBDA_EXPRESSION) {
+        return parent;
       }
     }
-    return type;
+    return null;
+  }
+
+  // This logic comes from the IntLongMath check:
+  // https://github.com/google/error-prone/blob/5391186274d64031b5536a3e95fc1750711fb4b2/core/src/main/java/com/google/errorprone/bugpatterns/IntLongMath.java#L50-L72
+  private static Type getReturnType(final Tree enclosing, final VisitorState state) {
+    if (enclosing.getKind() == Tree.Kind.METHOD) {
+      return ASTHelpers.getType(((MethodTree) enclosing).getReturnType());
+    }
+    return state.getTypes().findDescriptorType(ASTHelpers.getType(enclosing)).getReturnType();
   }
 
-  private static boolean isOptional(final Type type) {
-    return type.toString().startsWith("java.util.Optional<");
+  /** Counts the statements of a method or lambda, giving up once there are more than the budget. */
+  private static final class StatementCounter extends TreeScanner<Void, Void> {
+    private final int budget;
+    private int count;
+
+    private StatementCounter(final int budget) {
+      this.budget = budget;
+    }
+
+    @Override
+    public Void scan(final Tree tree, final Void unused) {
+      if (tree == null || count > budget) {
+        return null;
+      }
+      if (tree instanceof StatementTree) {
+        count++;
+      }
+      return super.scan(tree, unused);
+    }
   }
 }
@@ -17,10 +17,13 @@ import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.matchers.Matchers.not;
 
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
@@ -28,11 +31,14 @@ import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
 import com.google.errorprone.suppliers.Suppliers;
 import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.MethodInvocationTree;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.util.Name;
 
 @AutoService(BugChecker.class)
 @BugPattern(
@@ -55,270 +61,43 @@ public class DoNotUseDeprecatedFastutilMethod extends BugChecker
           "java.lang.Reference", "Reference",
           "java.lang.Short", "Short");
 
-  private static final List<String> FASTUTIL_ITERABLE =
-      List.of(
-          "it.unimi.dsi.fastutil.booleans.BooleanIterable",
-          "it.unimi.dsi.fastutil.bytes.ByteIterable",
-          "it.unimi.dsi.fastutil.chars.CharIterable",
-          "it.unimi.dsi.fastutil.doubles.DoubleIterable",
-          "it.unimi.dsi.fastutil.floats.FloatIterable",
-          "it.unimi.dsi.fastutil.ints.IntIterable",
-          "it.unimi.dsi.fastutil.longs.LongIterable",
-          "it.unimi.dsi.fastutil.shorts.ShortIterable");
-
-  private static final List<String> FASTUTIL_COLLECTION =
-      List.of(
-          "it.unimi.dsi.fastutil.booleans.BooleanCollection",
-          "it.unimi.dsi.fastutil.bytes.ByteCollection",
-          "it.unimi.dsi.fastutil.chars.CharCollection",
-          "it.unimi.dsi.fastutil.doubles.DoubleCollection",
-          "it.unimi.dsi.fastutil.floats.FloatCollection",
-          "it.unimi.dsi.fastutil.ints.IntCollection",
-          "it.unimi.dsi.fastutil.longs.LongCollection",
-          "it.unimi.dsi.fastutil.shorts.ShortCollection");
-
-  private static final List<String> FASTUTIL_LIST =
-      List.of(
-          "it.unimi.dsi.fastutil.booleans.BooleanList",
-          "it.unimi.dsi.fastutil.bytes.ByteList",
-          "it.unimi.dsi.fastutil.chars.CharList",
-          "it.unimi.dsi.fastutil.doubles.DoubleList",
-          "it.unimi.dsi.fastutil.floats.FloatList",
-          "it.unimi.dsi.fastutil.ints.IntList",
-          "it.unimi.dsi.fastutil.longs.LongList",
-          "it.unimi.dsi.fastutil.shorts.ShortList");
-
-  private static final List<String> FASTUTIL_SET =
-      List.of(
-          "it.unimi.dsi.fastutil.booleans.BooleanSet",
-          "it.unimi.dsi.fastutil.bytes.ByteSet",
-          "it.unimi.dsi.fastutil.chars.CharSet",
-          "it.unimi.dsi.fastutil.doubles.DoubleSet",
-          "it.unimi.dsi.fastutil.floats.FloatSet",
-          "it.unimi.dsi.fastutil.ints.IntSet",
-          "it.unimi.dsi.fastutil.longs.LongSet",
-          "it.unimi.dsi.fastutil.shorts.ShortSet");
-
-  private static final Matcher<ExpressionTree> DEPRECATED_GENERIC =
-      anyOf(
-          instanceMethod()
-              .onDescendantOfAny(FASTUTIL_ITERABLE)
-              .namedAnyOf("contains", "indexOf", "remove", "lastIndexOf")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Object"))),
-          instanceMethod().onDescendantOfAny(FASTUTIL_ITERABLE).named("get"));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_ADD =
-      anyOf(
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.booleans.BooleanIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Boolean"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.booleans.BooleanIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Boolean"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.bytes.ByteIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Byte"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.bytes.ByteIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Byte"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.chars.CharIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Character"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.chars.CharIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Character"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.doubles.DoubleIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Double"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.doubles.DoubleIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Double"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.floats.FloatIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Float"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.floats.FloatIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Float"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.ints.IntIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Integer"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.ints.IntIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Integer"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.longs.LongIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Long"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.longs.LongIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Long"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.shorts.ShortIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Short"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.shorts.ShortIterable")
-              .named("add")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Short"))));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_FOR_EACH =
-      anyOf(
-          instanceMethod()
-              .onDescendantOfAny(FASTUTIL_ITERABLE)
-              .named("forEach")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.util.function.Consumer"))));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_PARALLEL_STREAM =
-      anyOf(instanceMethod().onDescendantOfAny(FASTUTIL_COLLECTION).named("parallelStream"));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_REMOVE =
-      anyOf(
-          instanceMethod().onDescendantOfAny(FASTUTIL_LIST).named("remove"),
-          instanceMethod().onDescendantOfAny(FASTUTIL_SET).named("rem"));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_REMOVE_IF =
-      anyOf(
-          instanceMethod()
-              .onDescendantOfAny(FASTUTIL_COLLECTION)
-              .named("removeIf")
-              .withParametersOfType(
-                  Suppliers.fromStrings(List.of("java.util.function.Predicate"))));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_REPLACE_ALL =
-      anyOf(
-          instanceMethod()
-              .onDescendantOfAny(FASTUTIL_ITERABLE)
-              .named("replaceAll")
-              .withParametersOfType(
-                  Suppliers.fromStrings(List.of("java.util.function.UnaryOperator"))));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_SET =
-      anyOf(
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.booleans.BooleanList")
-              .named("set")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Boolean"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.bytes.ByteList")
-              .named("set")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Byte"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.chars.CharList")
-              .named("set")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Character"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.doubles.DoubleList")
-              .named("set")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Double"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.floats.FloatList")
-              .named("set")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Float"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.ints.IntList")
-              .named("set")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Integer"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.longs.LongList")
-              .named("set")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Long"))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.shorts.ShortList")
-              .named("set")
-              .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Short"))));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_SORT =
-      anyOf(
-          instanceMethod()
-              .onDescendantOfAny(FASTUTIL_ITERABLE)
-              .namedAnyOf("sort", "unstableSort")
-              .withParametersOfType(Suppliers.fromStrings(List.of("java.util.Comparator"))));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_STREAM =
-      instanceMethod().onDescendantOfAny(FASTUTIL_COLLECTION).named("stream");
-
-  private static final Matcher<ExpressionTree> DEPRECATED_TO_ARRAY =
-      anyOf(
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.booleans.BooleanCollection")
-              .named("toBooleanArray")
-              .withParametersOfType(
-                  List.of(Suppliers.arrayOf(Suppliers.typeFromString("boolean")))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.bytes.ByteCollection")
-              .named("toByteArray")
-              .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("byte")))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.chars.CharCollection")
-              .named("toCharArray")
-              .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("char")))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.doubles.DoubleCollection")
-              .named("toDoubleArray")
-              .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("double")))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.floats.FloatCollection")
-              .named("toFloatArray")
-              .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("float")))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.ints.IntCollection")
-              .named("toIntArray")
-              .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("int")))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.longs.LongCollection")
-              .named("toLongArray")
-              .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("long")))),
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.shorts.ShortCollection")
-              .named("toShortArray")
-              .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("short")))));
-
-  private static final Matcher<ExpressionTree> DEPRECATED_METHOD =
-      anyOf(
-          DEPRECATED_ADD,
-          DEPRECATED_FOR_EACH,
-          DEPRECATED_GENERIC,
-          DEPRECATED_PARALLEL_STREAM,
-          DEPRECATED_REMOVE,
-          DEPRECATED_REMOVE_IF,
-          DEPRECATED_REPLACE_ALL,
-          DEPRECATED_SET,
-          DEPRECATED_SORT,
-          DEPRECATED_STREAM,
-          DEPRECATED_TO_ARRAY);
-
-  // All of the map classes inherit this class.
+  // All of the map classes inherit this class. When it is not on the classpath, no deprecated
+  // fastutil method can be called and the matchers are never built.
   private static final String FASTUTIL_FUNCTION = "it.unimi.dsi.fastutil.Function";
-  private static final Matcher<ExpressionTree> DEPRECATED_ENTRYSET =
-      instanceMethod().onDescendantOfAny(FASTUTIL_FUNCTION).named("entrySet");
-
-  // Object2ObjectMap.entrySet() is not deprecated.
-  private static final Matcher<ExpressionTree> NOT_OBJECT_2_OBJECT_MAP =
-      not(
-          instanceMethod()
-              .onDescendantOfAny("it.unimi.dsi.fastutil.objects.Object2ObjectFunction"));
 
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
-    if (DEPRECATED_METHOD.matches(tree, state)) {
+    return CheckerRuntime.match(
+        this, tree, state, DoNotUseDeprecatedFastutilMethod::checkMethodInvocation);
+  }
+
+  private Description checkMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (TypeFacts.instance(state).type(FASTUTIL_FUNCTION, state) == null) {
+      return Description.NO_MATCH;
+    }
+    final MethodSymbol symbol =
+        InvocationDispatcher.instance(state)
+            .candidate(DeprecatedMethods.DEPRECATED_METHOD_CALLS, tree, state);
+    if (symbol == null) {
+      return Description.NO_MATCH;
+    }
+    final Name name = symbol.getSimpleName();
+    final Matcher<ExpressionTree> deprecated =
+        DeprecatedMethods.DEPRECATED_METHODS.get(state).get(name);
+    if (deprecated == null
+        || !TypeFacts.instance(state)
+            .isSubtypeOfAny(
+                ASTHelpers.getReceiverType(tree), DeprecatedMethods.FASTUTIL_RECEIVERS, state)
+        || !deprecated.matches(tree, state)) {
+      return Description.NO_MATCH;
+    }
+
+    if (!name.contentEquals(DeprecatedMethods.ENTRYSET)) {
       return describeMatch(tree);
     }
 
     // We want to match all fastutil maps except for Object2Object maps.
-    if (DEPRECATED_ENTRYSET.matches(tree, state) && NOT_OBJECT_2_OBJECT_MAP.matches(tree, state)) {
+    if (DeprecatedMethods.NOT_OBJECT_2_OBJECT_MAP.matches(tree, state)) {
       return buildDescription(tree)
           .setMessage("Use type-specific fastutil entrySet method instead.")
           .addFix(
@@ -342,4 +121,310 @@ public class DoNotUseDeprecatedFastutilMethod extends BugChecker
             + "EntrySet";
     return newFuncName;
   }
+
+  /**
+   * The matchers for the deprecated methods. They are built when the check first sees a call of a
+   * method with a deprecated name in a compilation with fastutil on the classpath, so the check
+   * costs nothing to load otherwise.
+   */
+  private static final class DeprecatedMethods {
+    private static final List<String> FASTUTIL_ITERABLE =
+        List.of(
+            "it.unimi.dsi.fastutil.booleans.BooleanIterable",
+            "it.unimi.dsi.fastutil.bytes.ByteIterable",
+            "it.unimi.dsi.fastutil.chars.CharIterable",
+            "it.unimi.dsi.fastutil.doubles.DoubleIterable",
+            "it.unimi.dsi.fastutil.floats.FloatIterable",
+            "it.unimi.dsi.fastutil.ints.IntIterable",
+            "it.unimi.dsi.fastutil.longs.LongIterable",
+            "it.unimi.dsi.fastutil.shorts.ShortIterable");
+
+    private static final List<String> FASTUTIL_COLLECTION =
+        List.of(
+            "it.unimi.dsi.fastutil.booleans.BooleanCollection",
+            "it.unimi.dsi.fastutil.bytes.ByteCollection",
+            "it.unimi.dsi.fastutil.chars.CharCollection",
+            "it.unimi.dsi.fastutil.doubles.DoubleCollection",
+            "it.unimi.dsi.fastutil.floats.FloatCollection",
+            "it.unimi.dsi.fastutil.ints.IntCollection",
+            "it.unimi.dsi.fastutil.longs.LongCollection",
+            "it.unimi.dsi.fastutil.shorts.ShortCollection");
+
+    private static final List<String> FASTUTIL_LIST =
+        List.of(
+            "it.unimi.dsi.fastutil.booleans.BooleanList",
+            "it.unimi.dsi.fastutil.bytes.ByteList",
+            "it.unimi.dsi.fastutil.chars.CharList",
+            "it.unimi.dsi.fastutil.doubles.DoubleList",
+            "it.unimi.dsi.fastutil.floats.FloatList",
+            "it.unimi.dsi.fastutil.ints.IntList",
+            "it.unimi.dsi.fastutil.longs.LongList",
+            "it.unimi.dsi.fastutil.shorts.ShortList");
+
+    private static final List<String> FASTUTIL_SET =
+        List.of(
+            "it.unimi.dsi.fastutil.booleans.BooleanSet",
+            "it.unimi.dsi.fastutil.bytes.ByteSet",
+            "it.unimi.dsi.fastutil.chars.CharSet",
+            "it.unimi.dsi.fastutil.doubles.DoubleSet",
+            "it.unimi.dsi.fastutil.floats.FloatSet",
+            "it.unimi.dsi.fastutil.ints.IntSet",
+            "it.unimi.dsi.fastutil.longs.LongSet",
+            "it.unimi.dsi.fastutil.shorts.ShortSet");
+
+    private static final Matcher<ExpressionTree> DEPRECATED_OBJECT_ARGUMENT =
+        instanceMethod()
+            .onDescendantOfAny(FASTUTIL_ITERABLE)
+            .namedAnyOf("contains", "indexOf", "remove", "lastIndexOf")
+            .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Object")));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_GET =
+        instanceMethod().onDescendantOfAny(FASTUTIL_ITERABLE).named("get");
+
+    private static final Matcher<ExpressionTree> DEPRECATED_ADD =
+        anyOf(
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.booleans.BooleanIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Boolean"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.booleans.BooleanIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Boolean"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.bytes.ByteIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Byte"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.bytes.ByteIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Byte"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.chars.CharIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Character"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.chars.CharIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Character"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.doubles.DoubleIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Double"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.doubles.DoubleIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Double"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.floats.FloatIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Float"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.floats.FloatIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Float"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.ints.IntIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Integer"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.ints.IntIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Integer"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.longs.LongIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Long"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.longs.LongIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Long"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.shorts.ShortIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Short"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.shorts.ShortIterable")
+                .named("add")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Short"))));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_FOR_EACH =
+        anyOf(
+            instanceMethod()
+                .onDescendantOfAny(FASTUTIL_ITERABLE)
+                .named("forEach")
+                .withParametersOfType(
+                    Suppliers.fromStrings(List.of("java.util.function.Consumer"))));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_PARALLEL_STREAM =
+        anyOf(instanceMethod().onDescendantOfAny(FASTUTIL_COLLECTION).named("parallelStream"));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_REMOVE =
+        anyOf(
+            DEPRECATED_OBJECT_ARGUMENT,
+            instanceMethod().onDescendantOfAny(FASTUTIL_LIST).named("remove"));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_REM =
+        instanceMethod().onDescendantOfAny(FASTUTIL_SET).named("rem");
+
+    private static final Matcher<ExpressionTree> DEPRECATED_REMOVE_IF =
+        anyOf(
+            instanceMethod()
+                .onDescendantOfAny(FASTUTIL_COLLECTION)
+                .named("removeIf")
+                .withParametersOfType(
+                    Suppliers.fromStrings(List.of("java.util.function.Predicate"))));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_REPLACE_ALL =
+        anyOf(
+            instanceMethod()
+                .onDescendantOfAny(FASTUTIL_ITERABLE)
+                .named("replaceAll")
+                .withParametersOfType(
+                    Suppliers.fromStrings(List.of("java.util.function.UnaryOperator"))));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_SET =
+        anyOf(
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.booleans.BooleanList")
+                .named("set")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.lang.Boolean"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.bytes.ByteList")
+                .named("set")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Byte"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.chars.CharList")
+                .named("set")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Character"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.doubles.DoubleList")
+                .named("set")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Double"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.floats.FloatList")
+                .named("set")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Float"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.ints.IntList")
+                .named("set")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Integer"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.longs.LongList")
+                .named("set")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Long"))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.shorts.ShortList")
+                .named("set")
+                .withParametersOfType(Suppliers.fromStrings(List.of("int", "java.lang.Short"))));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_SORT =
+        anyOf(
+            instanceMethod()
+                .onDescendantOfAny(FASTUTIL_ITERABLE)
+                .namedAnyOf("sort", "unstableSort")
+                .withParametersOfType(Suppliers.fromStrings(List.of("java.util.Comparator"))));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_STREAM =
+        instanceMethod().onDescendantOfAny(FASTUTIL_COLLECTION).named("stream");
+
+    private static final Matcher<ExpressionTree> DEPRECATED_TO_ARRAY =
+        anyOf(
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.booleans.BooleanCollection")
+                .named("toBooleanArray")
+                .withParametersOfType(
+                    List.of(Suppliers.arrayOf(Suppliers.typeFromString("boolean")))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.bytes.ByteCollection")
+                .named("toByteArray")
+                .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("byte")))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.chars.CharCollection")
+                .named("toCharArray")
+                .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("char")))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.doubles.DoubleCollection")
+                .named("toDoubleArray")
+                .withParametersOfType(
+                    List.of(Suppliers.arrayOf(Suppliers.typeFromString("double")))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.floats.FloatCollection")
+                .named("toFloatArray")
+                .withParametersOfType(
+                    List.of(Suppliers.arrayOf(Suppliers.typeFromString("float")))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.ints.IntCollection")
+                .named("toIntArray")
+                .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("int")))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.longs.LongCollection")
+                .named("toLongArray")
+                .withParametersOfType(List.of(Suppliers.arrayOf(Suppliers.typeFromString("long")))),
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.shorts.ShortCollection")
+                .named("toShortArray")
+                .withParametersOfType(
+                    List.of(Suppliers.arrayOf(Suppliers.typeFromString("short")))));
+
+    private static final Matcher<ExpressionTree> DEPRECATED_ENTRYSET =
+        instanceMethod().onDescendantOfAny(FASTUTIL_FUNCTION).named("entrySet");
+
+    // Object2ObjectMap.entrySet() is not deprecated.
+    private static final Matcher<ExpressionTree> NOT_OBJECT_2_OBJECT_MAP =
+        not(
+            instanceMethod()
+                .onDescendantOfAny("it.unimi.dsi.fastutil.objects.Object2ObjectFunction"));
+
+    // Every receiver of a deprecated method is one of these, or a map, which all inherit Function.
+    private static final ImmutableList<String> FASTUTIL_RECEIVERS =
+        ImmutableList.<String>builder().addAll(FASTUTIL_ITERABLE).add(FASTUTIL_FUNCTION).build();
+
+    private static final String ENTRYSET = "entrySet";
+
+    // Every deprecated method, keyed by its name. Each entry only holds the matchers for the
+    // fastutil receiver families that declare a deprecated method with that name, so a call with
+    // any other name is rejected by a single lookup instead of running every matcher against it.
+    private static final ImmutableMap<String, Matcher<ExpressionTree>> DEPRECATED_METHODS_BY_NAME =
+        ImmutableMap.<String, Matcher<ExpressionTree>>builder()
+            .put("add", DEPRECATED_ADD)
+            .put("contains", DEPRECATED_OBJECT_ARGUMENT)
+            .put("forEach", DEPRECATED_FOR_EACH)
+            .put("get", DEPRECATED_GET)
+            .put("indexOf", DEPRECATED_OBJECT_ARGUMENT)
+            .put("lastIndexOf", DEPRECATED_OBJECT_ARGUMENT)
+            .put("parallelStream", DEPRECATED_PARALLEL_STREAM)
+            .put("rem", DEPRECATED_REM)
+            .put("remove", DEPRECATED_REMOVE)
+            .put("removeIf", DEPRECATED_REMOVE_IF)
+            .put("replaceAll", DEPRECATED_REPLACE_ALL)
+            .put("set", DEPRECATED_SET)
+            .put("sort", DEPRECATED_SORT)
+            .put("stream", DEPRECATED_STREAM)
+            .put("toBooleanArray", DEPRECATED_TO_ARRAY)
+            .put("toByteArray", DEPRECATED_TO_ARRAY)
+            .put("toCharArray", DEPRECATED_TO_ARRAY)
+            .put("toDoubleArray", DEPRECATED_TO_ARRAY)
+            .put("toFloatArray", DEPRECATED_TO_ARRAY)
+            .put("toIntArray", DEPRECATED_TO_ARRAY)
+            .put("toLongArray", DEPRECATED_TO_ARRAY)
+            .put("toShortArray", DEPRECATED_TO_ARRAY)
+            .put("unstableSort", DEPRECATED_SORT)
+            .put(ENTRYSET, DEPRECATED_ENTRYSET)
+            .build();
+
+    private static final InvocationDispatcher.Interest DEPRECATED_METHOD_CALLS =
+        InvocationDispatcher.Interest.methodsNamed(DEPRECATED_METHODS_BY_NAME.keySet());
+
+    // The deprecated methods keyed by the names of the current compilation, so that the name of a
+    // call is looked up without converting it to a string.
+    private static final Supplier<Map<Name, Matcher<ExpressionTree>>> DEPRECATED_METHODS =
+        VisitorState.memoize(
+            state -> {
+              final Map<Name, Matcher<ExpressionTree>> byName = new IdentityHashMap<>();
+              DEPRECATED_METHODS_BY_NAME.forEach(
+                  (name, matcher) -> byName.put(state.getName(name), matcher));
+              return byName;
+            });
+  }
 }
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.lang.model.element.AnnotationMirror;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import com.google.errorprone.VisitorState;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Kinds.Kind;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Symtab;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.Name;
+
+/**
+ * What the classes of a compilation declare about their equality: whether they or a superclass
+ * override <code>equals()</code> or <code>hashCode()</code>, whether they are value-based, such as
+ * records and classes annotated with <code>@ValueBased</code>, and whether their instances are
+ * interned, such as enums and classes annotated with <code>@Interned</code>.
+ *
+ * <p>With <code>-XepOpt:EpChecks:WriteEqualityIndex=true</code> the facts of every class compiled
+ * are written to <code>META-INF/epchecks/equality.idx</code> in the class output. Downstream
+ * compilations read the index files found on their classpath, so the facts of a library class are a
+ * single lookup instead of a walk over its supertypes.
+ */
+final class EqualityIndex {
+
+  static final String WRITE_INDEX_FLAG = "EpChecks:WriteEqualityIndex";
+  static final String INDEX_PACKAGE = "META-INF.epchecks";
+  static final String INDEX_FILE = "equality.idx";
+
+  static final int DECLARES_EQUALS = 1;
+  static final int DECLARES_HASH_CODE = 1 << 1;
+  static final int VALUE_BASED = 1 << 2;
+  static final int INTERNED = 1 << 3;
+
+  private static final int FORMAT = 0x45504901;
+  private static final Context.Key<EqualityIndex> KEY = new Context.Key<>();
+
+  private final Map<ClassSymbol, Integer> factsBySymbol = new IdentityHashMap<>();
+
+  // The facts of the index files on the classpath by binary class name, read on first use.
+  private Map<String, Integer> classpathFacts;
+
+  private EqualityIndex() {}
+
+  static EqualityIndex instance(final VisitorState state) {
+    final Context context = state.context;
+    EqualityIndex index = context.get(KEY);
+    if (index == null) {
+      index = new EqualityIndex();
+      context.put(KEY, index);
+    }
+    return index;
+  }
+
+  /** Writes the index of the classes compiled once the compilation of the state has finished. */
+  static void writeWhenCompilationFinished(final VisitorState state) {
+    CheckerRuntime.whenCompilationFinished(state, () -> instance(state).write(state));
+  }
+
+  /** The facts of the class, from the classpath index when it was compiled in another module. */
+  int facts(final ClassSymbol symbol, final VisitorState state) {
+    final Integer cached = factsBySymbol.get(symbol);
+    if (cached != null) {
+      return cached;
+    }
+    Integer facts = null;
+    if (isFromClassFile(symbol)) {
+      facts = classpathFacts(state).get(symbol.flatName().toString());
+    }
+    if (facts == null) {
+      facts = computeFacts(symbol, state);
+    }
+    factsBySymbol.put(symbol, facts);
+    return facts;
+  }
+
+  private static boolean isFromClassFile(final ClassSymbol symbol) {
+    return symbol.classfile != null && symbol.classfile.getKind() == JavaFileObject.Kind.CLASS;
+  }
+
+  private static int computeFacts(final ClassSymbol symbol, final VisitorState state) {
+    int facts = 0;
+    if (declaresInHierarchy(symbol, state.getNames().equals, state)) {
+      facts |= DECLARES_EQUALS;
+    }
+    if (declaresInHierarchy(symbol, state.getNames().hashCode, state)) {
+      facts |= DECLARES_HASH_CODE;
+    }
+    if ((symbol.flags() & Flags.RECORD) != 0 || hasAnnotationNamed(symbol, "ValueBased")) {
+      facts |= VALUE_BASED;
+    }
+    if ((symbol.flags() & Flags.ENUM) != 0 || hasAnnotationNamed(symbol, "Interned")) {
+      facts |= INTERNED;
+    }
+    return facts;
+  }
+
+  // Whether the class or one of its superclasses implements the Object method of the given name.
+  // Interfaces are ignored as their declarations, like List.equals(), do not provide one.
+  private static boolean declaresInHierarchy(
+      final ClassSymbol symbol, final Name name, final VisitorState state) {
+    final Types types = state.getTypes();
+    final Type objectType = state.getSymtab().objectType;
+    for (final Type superType : types.closure(symbol.type)) {
+      final Symbol superSymbol = superType.tsym;
+      if (superSymbol.isInterface() || types.isSameType(superType, objectType)) {
+        continue;
+      }
+      for (final Symbol member : superSymbol.members().getSymbolsByName(name)) {
+        if (member instanceof MethodSymbol && overridesObjectMethod((MethodSymbol) member, state)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean overridesObjectMethod(
+      final MethodSymbol method, final VisitorState state) {
+    if (method.isStatic()) {
+      return false;
+    }
+    if (method.name == state.getNames().hashCode) {
+      return method.getParameters().isEmpty();
+    }
+    final Types types = state.getTypes();
+    return method.getParameters().size() == 1
+        && types.isSameType(
+            types.erasure(method.getParameters().get(0).type), state.getSymtab().objectType);
+  }
+
+  private static boolean hasAnnotationNamed(final Symbol symbol, final String simpleName) {
+    for (final AnnotationMirror annotation : symbol.getAnnotationMirrors()) {
+      if (annotation.getAnnotationType().asElement().getSimpleName().contentEquals(simpleName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Map<String, Integer> classpathFacts(final VisitorState state) {
+    if (classpathFacts == null) {
+      classpathFacts = new HashMap<>();
+      final JavaFileManager fileManager = state.context.get(JavaFileManager.class);
+      try {
+        for (final JavaFileObject file :
+            fileManager.list(
+                StandardLocation.CLASS_PATH,
+                INDEX_PACKAGE,
+                EnumSet.of(JavaFileObject.Kind.OTHER),
+                false)) {
+          if (file.getName().endsWith(INDEX_FILE)) {
+            read(file, classpathFacts);
+          }
+        }
+      } catch (final IOException e) {
+        throw new UncheckedIOException("Unable to read equality indexes from the classpath", e);
+      }
+    }
+    return classpathFacts;
+  }
+
+  private void write(final VisitorState state) {
+    final Map<String, Integer> facts = new TreeMap<>();
+    final JavaFileManager fileManager = state.context.get(JavaFileManager.class);
+    try {
+      // Incremental compilations only compile some of the classes, so the previous index is kept.
+      final FileObject previous =
+          fileManager.getFileForInput(StandardLocation.CLASS_OUTPUT, INDEX_PACKAGE, INDEX_FILE);
+      if (previous != null) {
+        read(previous, facts);
+      }
+    } catch (final IOException | IllegalArgumentException e) {
+      // There is no previous index to keep.
+    }
+    for (final ClassSymbol symbol : Symtab.instance(state.context).getAllClasses()) {
+      if (symbol.classfile != null
+          && symbol.classfile.getKind() == JavaFileObject.Kind.SOURCE
+          && symbol.owner.kind != Kind.MTH
+          && !symbol.isAnonymous()
+          && symbol.members_field != null) {
+        facts.put(symbol.flatName().toString(), facts(symbol, state));
+      }
+    }
+    try {
+      final FileObject index =
+          fileManager.getFileForOutput(
+              StandardLocation.CLASS_OUTPUT, INDEX_PACKAGE, INDEX_FILE, null);
+      try (OutputStream out = index.openOutputStream()) {
+        write(facts, out);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to write the equality index", e);
+    }
+  }
+
+  static void write(final Map<String, Integer> facts, final OutputStream out) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream data = new DataOutputStream(bytes);
+    data.writeInt(FORMAT);
+    data.writeInt(facts.size());
+    for (final Map.Entry<String, Integer> entry : facts.entrySet()) {
+      final byte[] name = entry.getKey().getBytes(UTF_8);
+      data.writeShort(name.length);
+      data.write(name);
+      data.writeByte(entry.getValue());
+    }
+    data.flush();
+    bytes.writeTo(out);
+  }
+
+  // Index files are read whole and closed right away, so the previous index of the class output
+  // can be rewritten and no index on the classpath stays open for the rest of the compilation.
+  private static void read(final FileObject file, final Map<String, Integer> facts)
+      throws IOException {
+    final ByteBuffer buffer;
+    try (InputStream in = file.openInputStream()) {
+      buffer = ByteBuffer.wrap(in.readAllBytes());
+    }
+    read(buffer, file.getName(), facts);
+  }
+
+  static void read(final ByteBuffer buffer, final String name, final Map<String, Integer> facts)
+      throws IOException {
+    try {
+      if (buffer.getInt() != FORMAT) {
+        throw new IOException("Unknown format of equality index " + name);
+      }
+      final int count = buffer.getInt();
+      for (int i = 0; i < count; i++) {
+        final byte[] className = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(className);
+        facts.put(new String(className, UTF_8), (int) buffer.get());
+      }
+    } catch (final BufferUnderflowException e) {
+      throw new IOException("Truncated equality index " + name, e);
+    }
+  }
+}
@@ -14,22 +14,37 @@ package tech.pegasys.tools.epchecks;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 
+import java.nio.file.PathMatcher;
 import java.util.Map;
-import java.util.Optional;
+import javax.inject.Inject;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.ExecutableElement;
 
 import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
+import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.bugpatterns.BugChecker.AnnotationTreeMatcher;
 import com.google.errorprone.matchers.Description;
+import com.google.errorprone.suppliers.Supplier;
 import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.AnnotationTree;
-import com.sun.tools.javac.tree.JCTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.Tree;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.util.Name;
 
+/**
+ * Reports picocli options named <code>--X...</code> that are not hidden, and every such option
+ * declared in the Besu command. The Besu command is found by the path globs of <code>
+ * -XepOpt:ExperimentalCliOptionMustBeCorrectlyDisplayed:CommandPaths</code>, <code>
+ * **BesuCommand.java</code> by default.
+ */
 @AutoService(BugChecker.class)
 @BugPattern(
     name = "ExperimentalCliOptionMustBeCorrectlyDisplayed",
@@ -39,37 +54,92 @@ import com.sun.tools.javac.tree.JCTree;
 public class ExperimentalCliOptionMustBeCorrectlyDisplayed extends BugChecker
     implements AnnotationTreeMatcher {
 
+  private static final Supplier<Name> OPTION =
+      VisitorState.memoize(state -> state.getName("Option"));
+  private static final Supplier<Name> NAMES = VisitorState.memoize(state -> state.getName("names"));
+  private static final Supplier<Name> HIDDEN =
+      VisitorState.memoize(state -> state.getName("hidden"));
+  private static final String OPTION_ANNOTATION = "picocli.CommandLine.Option";
+
+  static final String COMMAND_PATHS_FLAG =
+      "ExperimentalCliOptionMustBeCorrectlyDisplayed:CommandPaths";
+
+  private static final ImmutableList<String> DEFAULT_COMMAND_PATHS =
+      ImmutableList.of("**BesuCommand.java");
+
+  private final ImmutableList<PathMatcher> commandPaths;
+
+  // Whether the last compilation unit seen is the Besu command, asked once per compilation unit.
+  private CompilationUnitTree lastCompilationUnit;
+  private boolean lastIsBesuCommand;
+
+  public ExperimentalCliOptionMustBeCorrectlyDisplayed() {
+    this(ErrorProneFlags.empty());
+  }
+
+  @Inject
+  public ExperimentalCliOptionMustBeCorrectlyDisplayed(final ErrorProneFlags flags) {
+    final ImmutableList<String> globs = flags.getListOrEmpty(COMMAND_PATHS_FLAG);
+    this.commandPaths = SourcePaths.globs(globs.isEmpty() ? DEFAULT_COMMAND_PATHS : globs);
+  }
+
   @Override
   public Description matchAnnotation(AnnotationTree tree, VisitorState state) {
+    return CheckerRuntime.match(
+        this, tree, state, ExperimentalCliOptionMustBeCorrectlyDisplayed::checkAnnotation);
+  }
+
+  private Description checkAnnotation(AnnotationTree tree, VisitorState state) {
+    // Rule out annotations such as @Override or @Test by their simple name before resolving them.
+    if (simpleName(tree.getAnnotationType()) != OPTION.get(state)) {
+      return Description.NO_MATCH;
+    }
+    final Type optionAnnotation = TypeFacts.instance(state).type(OPTION_ANNOTATION, state);
+    if (optionAnnotation == null
+        || ASTHelpers.getSymbol(tree.getAnnotationType()) != optionAnnotation.tsym) {
+      return Description.NO_MATCH;
+    }
+
     final AnnotationMirror annotationMirror = ASTHelpers.getAnnotationMirror(tree);
-    if (annotationMirror.getAnnotationType().toString().equals("picocli.CommandLine.Option")) {
-      final Optional<? extends AnnotationValue> names =
-          getAnnotationValue(annotationMirror, "names");
-      if (names.isPresent() && names.get().getValue().toString().contains("--X")) {
-        final JCTree.JCCompilationUnit compilation =
-            (JCTree.JCCompilationUnit) state.getPath().getCompilationUnit();
-        if (compilation.getSourceFile().getName().endsWith("BesuCommand.java")) {
-          return describeMatch(tree);
-        }
-        final Optional<? extends AnnotationValue> isHidden =
-            getAnnotationValue(annotationMirror, "hidden");
-        if (isHidden.isEmpty() || !((boolean) isHidden.get().getValue())) {
-          return describeMatch(tree);
-        }
+    AnnotationValue names = null;
+    AnnotationValue hidden = null;
+    for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> element :
+        annotationMirror.getElementValues().entrySet()) {
+      final javax.lang.model.element.Name elementName = element.getKey().getSimpleName();
+      if (elementName == NAMES.get(state)) {
+        names = element.getValue();
+      } else if (elementName == HIDDEN.get(state)) {
+        hidden = element.getValue();
+      }
+    }
+
+    if (names != null && names.getValue().toString().contains("--X")) {
+      if (isBesuCommand(state.getPath().getCompilationUnit())) {
+        return describeMatch(tree);
+      }
+      if (hidden == null || !((boolean) hidden.getValue())) {
+        return describeMatch(tree);
       }
     }
     return Description.NO_MATCH;
   }
 
-  private Optional<? extends AnnotationValue> getAnnotationValue(
-      final AnnotationMirror annotationMirror, final String name) {
-    final Map<? extends ExecutableElement, ? extends AnnotationValue> elementValues =
-        annotationMirror.getElementValues();
-    final Optional<? extends AnnotationValue> retValue =
-        elementValues.keySet().stream()
-            .filter(k -> k.getSimpleName().toString().equals(name))
-            .map(elementValues::get)
-            .findAny();
-    return retValue;
+  private boolean isBesuCommand(final CompilationUnitTree compilationUnit) {
+    if (compilationUnit != lastCompilationUnit) {
+      lastCompilationUnit = compilationUnit;
+      lastIsBesuCommand = SourcePaths.matchesAny(commandPaths, SourcePaths.path(compilationUnit));
+    }
+    return lastIsBesuCommand;
+  }
+
+  private static Name simpleName(final Tree annotationType) {
+    switch (annotationType.getKind()) {
+      case IDENTIFIER:
+        return (Name) ((IdentifierTree) annotationType).getName();
+      case MEMBER_SELECT:
+        return (Name) ((MemberSelectTree) annotationType).getIdentifier();
+      default:
+        return null;
+    }
   }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import java.io.IOException;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.ErrorProneFlags;
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.Tree;
+import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
+import com.sun.tools.javac.tree.TreeInfo;
+
+/**
+ * Recognizes generated compilation units, which no check in this package reports on. A unit is
+ * generated when one of its top-level types is annotated with an annotation named <code>Generated
+ * </code>, when the comments before its first declaration carry a generated code marker such as
+ * <code>DO NOT EDIT</code>, or when its path matches one of the globs of <code>
+ * -XepOpt:EpChecks:GeneratedSourceGlobs</code>. Annotations and comments are ignored with <code>
+ * -XepOpt:EpChecks:SkipGeneratedCode=false</code>.
+ */
+final class GeneratedCode {
+
+  static final String SKIP_GENERATED_CODE_FLAG = "EpChecks:SkipGeneratedCode";
+  static final String GENERATED_SOURCE_GLOBS_FLAG = "EpChecks:GeneratedSourceGlobs";
+
+  // Markers written by protoc, ANTLR, OpenAPI Generator and most other code generators.
+  private static final ImmutableList<String> HEADER_MARKERS =
+      ImmutableList.of(
+          "@generated",
+          "do not edit",
+          "generated by",
+          "generated from",
+          "code generated",
+          "autogenerated",
+          "auto-generated");
+
+  // Only the start of a file is searched for a header.
+  private static final int MAX_HEADER_LENGTH = 8192;
+
+  private final boolean detectMarkers;
+  private final ImmutableList<PathMatcher> globs;
+
+  private GeneratedCode(final boolean detectMarkers, final ImmutableList<PathMatcher> globs) {
+    this.detectMarkers = detectMarkers;
+    this.globs = globs;
+  }
+
+  static GeneratedCode create(final ErrorProneFlags flags) {
+    return new GeneratedCode(
+        flags.getBoolean(SKIP_GENERATED_CODE_FLAG).orElse(true),
+        SourcePaths.globs(flags.getListOrEmpty(GENERATED_SOURCE_GLOBS_FLAG)));
+  }
+
+  boolean isGenerated(final CompilationUnitTree compilationUnit) {
+    if (!globs.isEmpty() && SourcePaths.matchesAny(globs, SourcePaths.path(compilationUnit))) {
+      return true;
+    }
+    return detectMarkers
+        && (hasGeneratedAnnotation(compilationUnit) || hasGeneratedHeader(compilationUnit));
+  }
+
+  private static boolean hasGeneratedAnnotation(final CompilationUnitTree compilationUnit) {
+    for (final Tree typeDecl : compilationUnit.getTypeDecls()) {
+      if (typeDecl instanceof ClassTree) {
+        for (final AnnotationTree annotation :
+            ((ClassTree) typeDecl).getModifiers().getAnnotations()) {
+          if (simpleName(annotation.getAnnotationType()).equals("Generated")) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private static String simpleName(final Tree annotationType) {
+    switch (annotationType.getKind()) {
+      case IDENTIFIER:
+        return ((IdentifierTree) annotationType).getName().toString();
+      case MEMBER_SELECT:
+        return ((MemberSelectTree) annotationType).getIdentifier().toString();
+      default:
+        return "";
+    }
+  }
+
+  private static boolean hasGeneratedHeader(final CompilationUnitTree compilationUnit) {
+    final JCCompilationUnit unit = (JCCompilationUnit) compilationUnit;
+    final CharSequence source;
+    try {
+      source = unit.getSourceFile().getCharContent(true);
+    } catch (final IOException e) {
+      return false;
+    }
+    final int firstDeclaration =
+        unit.defs.isEmpty() ? source.length() : TreeInfo.getStartPos(unit.defs.head);
+    final int headerLength =
+        Math.min(Math.min(firstDeclaration, source.length()), MAX_HEADER_LENGTH);
+    if (headerLength <= 0) {
+      return false;
+    }
+    final String header = source.subSequence(0, headerLength).toString().toLowerCase(Locale.ROOT);
+    return containsAny(header, HEADER_MARKERS);
+  }
+
+  private static boolean containsAny(final String text, final List<String> markers) {
+    for (final String marker : markers) {
+      if (text.contains(marker)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.Name;
+
+/**
+ * Decides once per method invocation which of the invocation-based checks could match it. Error
+ * Prone calls every check on the same tree in turn, so the first check resolves the method symbol
+ * and looks its name and owner up in an index combining the {@link Interest}s of all checks; the
+ * other checks reuse that answer. A check only runs its own matchers when the answer includes it.
+ */
+final class InvocationDispatcher {
+
+  /**
+   * The invocations a check could match: calls of methods with one of the given names, or of
+   * methods declared by one of the given owners.
+   */
+  static final class Interest {
+    private final ImmutableSet<String> methodNames;
+    private final ImmutableSet<String> owners;
+
+    private Interest(final ImmutableSet<String> methodNames, final ImmutableSet<String> owners) {
+      this.methodNames = methodNames;
+      this.owners = owners;
+    }
+
+    static Interest methodsNamed(final String... methodNames) {
+      return new Interest(ImmutableSet.copyOf(methodNames), ImmutableSet.of());
+    }
+
+    static Interest methodsNamed(final Collection<String> methodNames) {
+      return new Interest(ImmutableSet.copyOf(methodNames), ImmutableSet.of());
+    }
+
+    static Interest methodsOf(final Collection<String> owners) {
+      return new Interest(ImmutableSet.of(), ImmutableSet.copyOf(owners));
+    }
+  }
+
+  private static final Context.Key<InvocationDispatcher> KEY = new Context.Key<>();
+
+  private final Map<Interest, Integer> interestBits = new IdentityHashMap<>();
+  private final Map<Name, Integer> interestsByName = new IdentityHashMap<>();
+  private final Map<Symbol, Integer> interestsByOwner = new IdentityHashMap<>();
+
+  // The answer for the invocation the checks are currently visiting.
+  private MethodInvocationTree lastTree;
+  private MethodSymbol lastSymbol;
+  private int lastInterests;
+
+  private InvocationDispatcher() {}
+
+  static InvocationDispatcher instance(final VisitorState state) {
+    final Context context = state.context;
+    InvocationDispatcher dispatcher = context.get(KEY);
+    if (dispatcher == null) {
+      dispatcher = new InvocationDispatcher();
+      context.put(KEY, dispatcher);
+    }
+    return dispatcher;
+  }
+
+  /**
+   * The symbol of the invoked method when the invocation is of interest, <code>null</code>
+   * otherwise.
+   */
+  MethodSymbol candidate(
+      final Interest interest, final MethodInvocationTree tree, final VisitorState state) {
+    Integer bit = interestBits.get(interest);
+    if (bit == null) {
+      bit = register(interest, state);
+    }
+    if (tree != lastTree) {
+      lastTree = tree;
+      lastSymbol = ASTHelpers.getSymbol(tree);
+      lastInterests =
+          interestsByName.getOrDefault(lastSymbol.getSimpleName(), 0)
+              | interestsByOwner.getOrDefault(lastSymbol.owner, 0);
+    }
+    return (lastInterests & bit) != 0 ? lastSymbol : null;
+  }
+
+  private int register(final Interest interest, final VisitorState state) {
+    if (interestBits.size() == Integer.SIZE) {
+      throw new IllegalStateException("Too many invocation interests in one compilation");
+    }
+    final int bit = 1 << interestBits.size();
+    interestBits.put(interest, bit);
+    for (final String methodName : interest.methodNames) {
+      interestsByName.merge(state.getName(methodName), bit, (a, b) -> a | b);
+    }
+    for (final String owner : interest.owners) {
+      final Symbol symbol = state.getSymbolFromString(owner);
+      // Owners that are not part of this compilation are never invoked.
+      if (symbol != null) {
+        interestsByOwner.merge(symbol, bit, (a, b) -> a | b);
+      }
+    }
+    // The answer for the current invocation did not include the new interest.
+    lastTree = null;
+    return bit;
+  }
+}
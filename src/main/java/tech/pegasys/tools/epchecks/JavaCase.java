@@ -17,8 +17,10 @@ import static com.google.errorprone.bugpatterns.BugChecker.ClassTreeMatcher;
 import static com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
 import static com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.regex.Pattern;
 import javax.lang.model.element.Modifier;
 
 import com.google.auto.service.AutoService;
@@ -29,11 +31,15 @@ import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
+import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.AnnotationTree;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.tree.VariableTree;
+import com.sun.tools.javac.tree.JCTree.JCClassDecl;
+import com.sun.tools.javac.tree.JCTree.JCMethodDecl;
+import com.sun.tools.javac.util.Name;
 
 @AutoService(BugChecker.class)
 @BugPattern(
@@ -44,27 +50,38 @@ import com.sun.source.tree.VariableTree;
 public class JavaCase extends BugChecker
     implements MethodTreeMatcher, ClassTreeMatcher, VariableTreeMatcher {
 
-  private static final Pattern PATTERN_HAS_LOWER = Pattern.compile("^.*[a-z].*$");
-  private static final Pattern PATTERN_STARTS_WITH_LOWER = Pattern.compile("^[a-z].*$");
-  private static final Pattern PATTERN_STARTS_WITH_UPPER = Pattern.compile("^[A-Z].*$");
-  private static final Pattern PATTERN_UNDERSCORES = Pattern.compile("^_+$");
+  // Character classes of a name, computed in a single pass over its bytes.
+  private static final int HAS_LOWER = 1;
+  private static final int HAS_UNDERSCORE = 1 << 1;
+  private static final int STARTS_WITH_LOWER = 1 << 2;
+  private static final int STARTS_WITH_UPPER = 1 << 3;
+  private static final int ONLY_UNDERSCORES = 1 << 4;
+
+  // Names are interned per compilation, so repeated identifiers are classified only once.
+  private final Map<Name, Integer> classifications = new IdentityHashMap<>();
 
   @Override
   public Description matchVariable(VariableTree tree, VisitorState state) {
-    String name = tree.getName().toString();
+    return CheckerRuntime.match(this, tree, state, JavaCase::checkVariable);
+  }
+
+  private Description checkVariable(VariableTree tree, VisitorState state) {
+    final int classes = classify(tree.getName());
 
     // Constants should be all uppercase.
     // All variables are implicitly constant in interfaces.
     if (isConstant(tree) || isInterface(state)) {
-      if (!isUpperUnderscore(name)) {
+      if (!isUpperUnderscore(classes)) {
+        String name = tree.getName().toString();
         return buildDescription(tree)
-            .addFix(SuggestedFixes.renameVariable(tree, toUpperUnderscore(name), state))
+            .addFix(SuggestedFixes.renameVariable(tree, toUpperUnderscore(name, classes), state))
             .build();
       }
       // Lambdas often use _ or __ for var names. This is fine.
-    } else if (!isOneOrMoreUnderscores(name) && !isLowerCamel(name)) {
+    } else if (!isOneOrMoreUnderscores(classes) && !isLowerCamel(classes)) {
+      String name = tree.getName().toString();
       return buildDescription(tree)
-          .addFix(SuggestedFixes.renameVariable(tree, toLowerCamel(name), state))
+          .addFix(SuggestedFixes.renameVariable(tree, toLowerCamel(name, classes), state))
           .build();
     }
     return Description.NO_MATCH;
@@ -72,17 +89,21 @@ public class JavaCase extends BugChecker
 
   @Override
   public Description matchMethod(MethodTree tree, VisitorState state) {
-    String name = tree.getName().toString();
+    return CheckerRuntime.match(this, tree, state, JavaCase::checkMethod);
+  }
 
+  private Description checkMethod(MethodTree tree, VisitorState state) {
     // Class constructors have the <init> name.
-    if (name.equals("<init>")) {
+    if (tree.getName() == state.getNames().init) {
       return Description.NO_MATCH;
     }
 
     // Ignore test methods often have underscores mixed in.
-    if (!isLowerCamel(name) && !isTestMethod(tree)) {
+    final int classes = classify(tree.getName());
+    if (!isLowerCamel(classes) && !isTestMethod(tree)) {
+      String name = tree.getName().toString();
       return buildDescription(tree)
-          .addFix(SuggestedFixes.renameMethod(tree, toLowerCamel(name), state))
+          .addFix(SuggestedFixes.renameMethod(tree, toLowerCamel(name, classes), state))
           .build();
     }
     return Description.NO_MATCH;
@@ -90,23 +111,117 @@ public class JavaCase extends BugChecker
 
   @Override
   public Description matchClass(ClassTree tree, VisitorState state) {
-    String name = tree.getSimpleName().toString();
+    return CheckerRuntime.match(this, tree, state, JavaCase::checkClass);
+  }
 
+  private Description checkClass(ClassTree tree, VisitorState state) {
     // Anonymous classes have no name.
-    if (name.isEmpty()) {
+    if (tree.getSimpleName().isEmpty()) {
       return Description.NO_MATCH;
     }
 
-    if (!isAllUpper(name) && !isUpperCamel(name)) {
-      String update = tree.toString().replace(name, toUpperCamel(name));
-      update = update.split("\\r?\\n")[1];
-      return buildDescription(tree)
-          .addFix(SuggestedFix.builder().replace(tree, update).build())
-          .build();
+    final int classes = classify(tree.getSimpleName());
+    if (!isAllUpper(classes) && !isUpperCamel(classes)) {
+      String name = tree.getSimpleName().toString();
+      final Description.Builder description = buildDescription(tree);
+      renameClass(tree, name, toUpperCamel(name, classes), state).ifPresent(description::addFix);
+      return description.build();
     }
     return Description.NO_MATCH;
   }
 
+  // Renames the class declaration and its explicit constructors in place, using the positions
+  // javac recorded for them, so the cost of the fix does not depend on the size of the class.
+  private static Optional<SuggestedFix> renameClass(
+      ClassTree tree, String name, String update, VisitorState state) {
+    final CharSequence source = state.getSourceCode();
+    if (source == null) {
+      return Optional.empty();
+    }
+    // The position of a class declaration is its class, enum, interface or record keyword, which
+    // is followed by the name.
+    final int namePosition = findName(source, name, ((JCClassDecl) tree).pos);
+    if (namePosition < 0) {
+      return Optional.empty();
+    }
+    final SuggestedFix.Builder fix = SuggestedFix.builder();
+    fix.replace(namePosition, namePosition + name.length(), update);
+    for (Tree member : tree.getMembers()) {
+      if (member instanceof MethodTree
+          && ((MethodTree) member).getName() == state.getNames().init
+          && !ASTHelpers.isGeneratedConstructor((MethodTree) member)) {
+        // The position of a constructor is its name.
+        final int constructorPosition = ((JCMethodDecl) member).pos;
+        if (isNameAt(source, name, constructorPosition)) {
+          fix.replace(constructorPosition, constructorPosition + name.length(), update);
+        }
+      }
+    }
+    return Optional.of(fix.build());
+  }
+
+  private static int findName(CharSequence source, String name, int from) {
+    for (int position = from; position + name.length() <= source.length(); position++) {
+      if (isNameAt(source, name, position)) {
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isNameAt(CharSequence source, String name, int position) {
+    final int end = position + name.length();
+    if (position < 0 || end > source.length()) {
+      return false;
+    }
+    for (int i = 0; i < name.length(); i++) {
+      if (source.charAt(position + i) != name.charAt(i)) {
+        return false;
+      }
+    }
+    return (position == 0 || !Character.isJavaIdentifierPart(source.charAt(position - 1)))
+        && (end == source.length() || !Character.isJavaIdentifierPart(source.charAt(end)));
+  }
+
+  private int classify(final javax.lang.model.element.Name name) {
+    final Name javacName = (Name) name;
+    final Integer classes = classifications.get(javacName);
+    if (classes != null) {
+      return classes;
+    }
+    final int computed = computeClasses(javacName);
+    classifications.put(javacName, computed);
+    return computed;
+  }
+
+  // Only ASCII characters are classified and UTF-8 never encodes other characters with bytes in
+  // the ASCII range, so the bytes of the name can be inspected without decoding them.
+  private static int computeClasses(final Name name) {
+    final int length = name.getByteLength();
+    if (length == 0) {
+      return 0;
+    }
+    final byte first = name.getByteAt(0);
+    int classes = ONLY_UNDERSCORES;
+    if (first >= 'a' && first <= 'z') {
+      classes |= STARTS_WITH_LOWER;
+    } else if (first >= 'A' && first <= 'Z') {
+      classes |= STARTS_WITH_UPPER;
+    }
+    for (int i = 0; i < length; i++) {
+      final byte b = name.getByteAt(i);
+      if (b == '_') {
+        classes |= HAS_UNDERSCORE;
+      } else {
+        classes &= ~ONLY_UNDERSCORES;
+        if (b >= 'a' && b <= 'z') {
+          classes |= HAS_LOWER;
+        }
+      }
+    }
+    return classes;
+  }
+
   private static boolean isConstant(VariableTree tree) {
     Set<Modifier> flags = tree.getModifiers().getFlags();
     return flags.contains(Modifier.STATIC) && flags.contains(Modifier.FINAL);
@@ -117,22 +232,21 @@ public class JavaCase extends BugChecker
     return node.getKind() == Tree.Kind.INTERFACE;
   }
 
-  private static boolean isOneOrMoreUnderscores(String name) {
-    return PATTERN_UNDERSCORES.matcher(name).matches();
+  private static boolean isOneOrMoreUnderscores(int classes) {
+    return (classes & ONLY_UNDERSCORES) != 0;
   }
 
-  private static boolean isLowerCamel(String name) {
-    return !name.contains("_") && PATTERN_STARTS_WITH_LOWER.matcher(name).matches();
+  private static boolean isLowerCamel(int classes) {
+    return (classes & (HAS_UNDERSCORE | STARTS_WITH_LOWER)) == STARTS_WITH_LOWER;
   }
 
-  private static boolean isUpperCamel(String name) {
-    return !name.contains("_")
-        && PATTERN_STARTS_WITH_UPPER.matcher(name).matches()
-        && PATTERN_HAS_LOWER.matcher(name).matches();
+  private static boolean isUpperCamel(int classes) {
+    return (classes & (HAS_UNDERSCORE | STARTS_WITH_UPPER | HAS_LOWER))
+        == (STARTS_WITH_UPPER | HAS_LOWER);
   }
 
-  private static boolean isUpperUnderscore(String name) {
-    return !PATTERN_HAS_LOWER.matcher(name).matches();
+  private static boolean isUpperUnderscore(int classes) {
+    return (classes & HAS_LOWER) == 0;
   }
 
   private static boolean isTestMethod(MethodTree tree) {
@@ -144,35 +258,35 @@ public class JavaCase extends BugChecker
     return false;
   }
 
-  private static boolean isAllUpper(String name) {
-    return !name.contains("_") && !PATTERN_HAS_LOWER.matcher(name).matches();
+  private static boolean isAllUpper(int classes) {
+    return (classes & (HAS_UNDERSCORE | HAS_LOWER)) == 0;
   }
 
-  private static String toLowerCamel(String name) {
+  private static String toLowerCamel(String name, int classes) {
     CaseFormat format = CaseFormat.LOWER_UNDERSCORE;
-    if (isUpperCamel(name)) {
+    if (isUpperCamel(classes)) {
       format = CaseFormat.UPPER_CAMEL;
-    } else if (isUpperUnderscore(name)) {
+    } else if (isUpperUnderscore(classes)) {
       format = CaseFormat.UPPER_UNDERSCORE;
     }
     return format.to(CaseFormat.LOWER_CAMEL, name);
   }
 
-  private static String toUpperCamel(String name) {
+  private static String toUpperCamel(String name, int classes) {
     CaseFormat format = CaseFormat.LOWER_UNDERSCORE;
-    if (isLowerCamel(name)) {
+    if (isLowerCamel(classes)) {
       format = CaseFormat.LOWER_CAMEL;
-    } else if (isUpperUnderscore(name)) {
+    } else if (isUpperUnderscore(classes)) {
       format = CaseFormat.UPPER_UNDERSCORE;
     }
     return format.to(CaseFormat.UPPER_CAMEL, name);
   }
 
-  private static String toUpperUnderscore(String name) {
+  private static String toUpperUnderscore(String name, int classes) {
     CaseFormat format = CaseFormat.LOWER_UNDERSCORE;
-    if (isLowerCamel(name)) {
+    if (isLowerCamel(classes)) {
       format = CaseFormat.LOWER_CAMEL;
-    } else if (isUpperCamel(name)) {
+    } else if (isUpperCamel(classes)) {
       format = CaseFormat.UPPER_CAMEL;
     }
     return format.to(CaseFormat.UPPER_UNDERSCORE, name);
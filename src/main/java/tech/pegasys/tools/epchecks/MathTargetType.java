@@ -46,14 +46,6 @@ import com.sun.tools.javac.code.Type;
     linkType = BugPattern.LinkType.NONE)
 public class MathTargetType extends BugChecker implements MethodInvocationTreeMatcher {
 
-  // These are the math methods with multiple overloaded versions.
-  // There could be type confusion with these functions.
-  private static final Matcher<ExpressionTree> POTENTIALLY_CONFUSED_MATH_FUNC =
-      staticMethod()
-          .onClass("java.lang.Math")
-          .namedAnyOf(
-              "min", "max", "addExact", "subtractExact", "multiplyExact", "floorDiv", "floorMod");
-
   private static final List<Tree.Kind> COMPARISONS =
       List.of(
           Tree.Kind.EQUAL_TO,
@@ -65,7 +57,13 @@ public class MathTargetType extends BugChecker implements MethodInvocationTreeMa
 
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
-    if (POTENTIALLY_CONFUSED_MATH_FUNC.matches(tree, state)) {
+    return CheckerRuntime.match(this, tree, state, MathTargetType::checkMethodInvocation);
+  }
+
+  private Description checkMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (InvocationDispatcher.instance(state).candidate(MathFunctions.MATH_CALLS, tree, state)
+            != null
+        && MathFunctions.POTENTIALLY_CONFUSED_MATH_FUNC.matches(tree, state)) {
       Tree parent = state.getPath().getParentPath().getLeaf();
       Type type = getTargetType(tree, parent, state, state.getPath().getParentPath());
       if (type != null
@@ -148,4 +146,18 @@ public class MathTargetType extends BugChecker implements MethodInvocationTreeMa
 
     return null;
   }
+
+  // Built on the first match, so a disabled check never builds its matchers.
+  private static final class MathFunctions {
+    private static final InvocationDispatcher.Interest MATH_CALLS =
+        InvocationDispatcher.Interest.methodsOf(List.of("java.lang.Math"));
+
+    // These are the math methods with multiple overloaded versions.
+    // There could be type confusion with these functions.
+    private static final Matcher<ExpressionTree> POTENTIALLY_CONFUSED_MATH_FUNC =
+        staticMethod()
+            .onClass("java.lang.Math")
+            .namedAnyOf(
+                "min", "max", "addExact", "subtractExact", "multiplyExact", "floorDiv", "floorMod");
+  }
 }
@@ -20,43 +20,48 @@ import com.google.auto.service.AutoService;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.ClassTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
-import com.sun.source.tree.ClassTree;
+import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.MethodTree;
-import com.sun.source.tree.ModifiersTree;
 import com.sun.source.tree.VariableTree;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
 
+/**
+ * Reports methods with a body whose parameters are not all final. The kind of the enclosing class
+ * comes from the symbol of the method, so nested, anonymous and sibling classes are each judged by
+ * their own declaration.
+ */
 @AutoService(BugChecker.class)
 @BugPattern(
     name = "MethodInputParametersMustBeFinal",
     summary = "Method input parameters must be final.",
     severity = WARNING,
     linkType = BugPattern.LinkType.NONE)
-public class MethodInputParametersMustBeFinal extends BugChecker
-    implements MethodTreeMatcher, ClassTreeMatcher {
-
-  private boolean isAbstraction = false;
+public class MethodInputParametersMustBeFinal extends BugChecker implements MethodTreeMatcher {
 
   @Override
-  public Description matchClass(final ClassTree tree, final VisitorState state) {
-    isAbstraction =
-        isInterface(tree.getModifiers())
-            || isAnonymousClassInAbstraction(tree)
-            || isEnumInAbstraction(tree);
-    return Description.NO_MATCH;
+  public Description matchMethod(final MethodTree tree, final VisitorState state) {
+    return CheckerRuntime.match(this, tree, state, MethodInputParametersMustBeFinal::checkMethod);
   }
 
-  @Override
-  public Description matchMethod(final MethodTree tree, final VisitorState state) {
-    final ModifiersTree mods = tree.getModifiers();
+  private Description checkMethod(final MethodTree tree, final VisitorState state) {
+    if (tree.getParameters().isEmpty()) {
+      return Description.NO_MATCH;
+    }
 
-    if (isAbstraction) {
-      if (isConcreteMethod(mods)) {
+    final MethodSymbol symbol = ASTHelpers.getSymbol(tree);
+    if (isCompilerProvided(symbol)) {
+      return Description.NO_MATCH;
+    }
+
+    if (symbol.owner.isInterface()) {
+      if (isConcreteMethod(symbol)) {
         return matchParameters(tree);
       }
-    } else if (isNotAbstract(mods)) {
+    } else if (isNotAbstract(symbol)) {
       return matchParameters(tree);
     }
 
@@ -64,46 +69,37 @@ public class MethodInputParametersMustBeFinal extends BugChecker
   }
 
   private Description matchParameters(final MethodTree tree) {
+    SuggestedFix.Builder fix = null;
     for (final VariableTree inputParameter : tree.getParameters()) {
       if (isMissingFinalModifier(inputParameter)) {
-        return describeMatch(tree);
+        if (fix == null) {
+          fix = SuggestedFix.builder();
+        }
+        fix.prefixWith(inputParameter, "final ");
       }
     }
 
-    return Description.NO_MATCH;
+    if (fix == null) {
+      return Description.NO_MATCH;
+    }
+    return describeMatch(tree, fix.build());
   }
 
   private boolean isMissingFinalModifier(final VariableTree inputParameter) {
     return !inputParameter.getModifiers().getFlags().contains(Modifier.FINAL);
   }
 
-  private boolean isNotAbstract(final ModifiersTree mods) {
-    return !mods.getFlags().contains(Modifier.ABSTRACT);
-  }
-
-  @SuppressWarnings("TreeToString")
-  private boolean isInterface(final ModifiersTree mods) {
-    return mods.toString().contains("interface");
-  }
-
-  private boolean isConcreteMethod(final ModifiersTree mods) {
-    return mods.getFlags().contains(Modifier.DEFAULT) || mods.getFlags().contains(Modifier.STATIC);
-  }
-
-  private boolean isAnonymousClassInAbstraction(final ClassTree tree) {
-    return isAbstraction && isAnonymousClass(tree);
-  }
-
-  private boolean isAnonymousClass(final ClassTree tree) {
-    return tree.getSimpleName().contentEquals("");
+  private boolean isNotAbstract(final MethodSymbol symbol) {
+    return (symbol.flags() & Flags.ABSTRACT) == 0;
   }
 
-  private boolean isEnumInAbstraction(final ClassTree tree) {
-    return isAbstraction && isEnum(tree);
+  private boolean isConcreteMethod(final MethodSymbol symbol) {
+    return (symbol.flags() & (Flags.DEFAULT | Flags.STATIC | Flags.PRIVATE)) != 0;
   }
 
-  @SuppressWarnings("TreeToString")
-  private boolean isEnum(final ClassTree tree) {
-    return tree.toString().contains("enum");
+  // Record constructors generated by the compiler, or whose parameters are implicit, have no
+  // parameters in the source that could be made final.
+  private boolean isCompilerProvided(final MethodSymbol symbol) {
+    return (symbol.flags() & (Flags.GENERATED_MEMBER | Flags.COMPACT_RECORD_CONSTRUCTOR)) != 0;
   }
 }
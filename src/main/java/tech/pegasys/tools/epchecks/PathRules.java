@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.ErrorProneFlags;
+
+/**
+ * The source paths a check runs on, configured with <code>-XepOpt:&lt;check&gt;:IncludePaths
+ * </code> and <code>-XepOpt:&lt;check&gt;:ExcludePaths</code>. Both take comma separated globs
+ * matched against the absolute path of a compilation unit, such as <code>**&#47;src/main/**</code>.
+ * A check runs on a compilation unit that matches an include glob, or any when there are none, and
+ * that matches no exclude glob.
+ */
+final class PathRules {
+
+  static final String INCLUDE_PATHS_FLAG = "IncludePaths";
+  static final String EXCLUDE_PATHS_FLAG = "ExcludePaths";
+
+  /** The rules of a check without include or exclude globs. */
+  static final PathRules ALL = new PathRules(ImmutableList.of(), ImmutableList.of());
+
+  private final ImmutableList<PathMatcher> includes;
+  private final ImmutableList<PathMatcher> excludes;
+
+  private PathRules(
+      final ImmutableList<PathMatcher> includes, final ImmutableList<PathMatcher> excludes) {
+    this.includes = includes;
+    this.excludes = excludes;
+  }
+
+  static PathRules create(final ErrorProneFlags flags, final String checkName) {
+    final ImmutableList<String> includes =
+        flags.getListOrEmpty(checkName + ":" + INCLUDE_PATHS_FLAG);
+    final ImmutableList<String> excludes =
+        flags.getListOrEmpty(checkName + ":" + EXCLUDE_PATHS_FLAG);
+    if (includes.isEmpty() && excludes.isEmpty()) {
+      return ALL;
+    }
+    return new PathRules(SourcePaths.globs(includes), SourcePaths.globs(excludes));
+  }
+
+  boolean appliesTo(final Path path) {
+    return (includes.isEmpty() || SourcePaths.matchesAny(includes, path))
+        && !SourcePaths.matchesAny(excludes, path);
+  }
+}
@@ -16,7 +16,6 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.fixes.SuggestedFixes.addModifiers;
 import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.util.ASTHelpers.getType;
-import static com.google.errorprone.util.ASTHelpers.isSubtype;
 
 import java.util.List;
 import javax.lang.model.element.ElementKind;
@@ -40,8 +39,14 @@ import com.sun.tools.javac.code.Symbol;
     linkType = BugPattern.LinkType.NONE)
 public class PrivateStaticFinalLoggers extends BugChecker implements VariableTreeMatcher {
 
+  private static final String LOGGER = "org.apache.logging.log4j.Logger";
+
   @Override
   public Description matchVariable(final VariableTree tree, final VisitorState state) {
+    return CheckerRuntime.match(this, tree, state, PrivateStaticFinalLoggers::checkVariable);
+  }
+
+  private Description checkVariable(final VariableTree tree, final VisitorState state) {
     final Symbol.VarSymbol sym = ASTHelpers.getSymbol(tree);
     if (sym == null || sym.getKind() != ElementKind.FIELD) {
       return NO_MATCH;
@@ -50,8 +55,7 @@ public class PrivateStaticFinalLoggers extends BugChecker implements VariableTre
         .containsAll(List.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))) {
       return NO_MATCH;
     }
-    if (!isSubtype(
-        getType(tree), state.getTypeFromString("org.apache.logging.log4j.Logger"), state)) {
+    if (!TypeFacts.instance(state).isSubtype(getType(tree), LOGGER, state)) {
       return NO_MATCH;
     }
     return buildDescription(tree)
@@ -19,6 +19,9 @@ import static com.sun.source.tree.Tree.Kind.IDENTIFIER;
 import static com.sun.source.tree.Tree.Kind.NOT_EQUAL_TO;
 import static com.sun.source.tree.Tree.Kind.NULL_LITERAL;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.google.auto.service.AutoService;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
@@ -31,13 +34,20 @@ import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.BinaryTree;
 import com.sun.source.tree.IdentifierTree;
 import com.sun.source.tree.Tree;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.TypeSymbol;
 import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.TypeTag;
 
 /**
  * This check is very similar to the <a
  * href=http://errorprone.info/bugpattern/ReferenceEquality>ReferenceEquality</a> check in Error
  * Prone. But this one identifies <code>Object</code> comparisons for types without an explicitly
  * declared <code>equals()</code> method.
+ *
+ * <p>Comparisons of interned types, such as enums, are fine; comparisons of value-based types, such
+ * as records, are always reported. The facts of each type come from the {@link EqualityIndex} and
+ * are looked up once per type and compilation, however many comparisons use them.
  */
 @AutoService(BugChecker.class)
 @BugPattern(
@@ -49,11 +59,24 @@ public class ReferenceComparison extends BugChecker implements BinaryTreeMatcher
   private static final Matcher<BinaryTree> REFERENCE_COMPARISON =
       Matchers.anyOf(Matchers.kindIs(EQUAL_TO), Matchers.kindIs(NOT_EQUAL_TO));
   private static final Matcher<Tree> NULL = Matchers.kindIs(NULL_LITERAL);
-  private static final Matcher<Tree> ENUM = Matchers.isSubtypeOf("java.lang.Enum");
-  private static final Matcher<Tree> CLASS = Matchers.isSubtypeOf("java.lang.Class");
+
+  // Facts about a type in addition to those of the equality index.
+  private static final int ENUM = 1 << 8;
+  private static final int CLASS = 1 << 9;
+
+  // Facts about a type that make comparing it by reference acceptable.
+  private static final int ACCEPTABLE =
+      ENUM | CLASS | EqualityIndex.DECLARES_EQUALS | EqualityIndex.INTERNED;
+
+  // The facts of every type compared in this compilation, so each type is only inspected once.
+  private final Map<TypeSymbol, Integer> factsByType = new HashMap<>();
 
   @Override
   public Description matchBinary(BinaryTree tree, VisitorState state) {
+    return CheckerRuntime.match(this, tree, state, ReferenceComparison::checkBinary);
+  }
+
+  private Description checkBinary(BinaryTree tree, VisitorState state) {
     // We're looking for reference comparisons (== and !=).
     if (!REFERENCE_COMPARISON.matches(tree, state)) {
       return NO_MATCH;
@@ -83,19 +106,48 @@ public class ReferenceComparison extends BugChecker implements BinaryTreeMatcher
       return NO_MATCH;
     }
 
-    // Ignore reference comparisons with enums. Those are a special case.
-    if (ENUM.matches(left, state) || ENUM.matches(right, state)) {
-      return NO_MATCH;
+    // Value-based types have no identity, comparing them by reference is always a mistake.
+    final int leftFacts = getTypeFacts(leftType, state);
+    final int rightFacts = getTypeFacts(rightType, state);
+    if (((leftFacts | rightFacts) & EqualityIndex.VALUE_BASED) != 0) {
+      return describeMatch(tree);
     }
 
-    // Ignore class comparisons, those are generally fine.
-    if (CLASS.matches(left, state) || CLASS.matches(right, state)) {
+    // Ignore reference comparisons with enums and interned types, those are a special case. Ignore
+    // class comparisons, those are generally fine. Comparisons of types declaring equals() are left
+    // to Error Prone's ReferenceEquality check.
+    if ((leftFacts & ACCEPTABLE) != 0 || (rightFacts & ACCEPTABLE) != 0) {
       return NO_MATCH;
     }
 
     return describeMatch(tree);
   }
 
+  private int getTypeFacts(final Type type, final VisitorState state) {
+    final Integer facts = factsByType.get(type.tsym);
+    if (facts != null) {
+      return facts;
+    }
+    final int computed = computeTypeFacts(state.getTypes().erasure(type), state);
+    factsByType.put(type.tsym, computed);
+    return computed;
+  }
+
+  private static int computeTypeFacts(final Type type, final VisitorState state) {
+    final TypeFacts typeFacts = TypeFacts.instance(state);
+    int facts = 0;
+    if (typeFacts.isSubtype(type, "java.lang.Enum", state)) {
+      facts |= ENUM;
+    }
+    if (typeFacts.isSubtype(type, "java.lang.Class", state)) {
+      facts |= CLASS;
+    }
+    if (type.hasTag(TypeTag.CLASS)) {
+      facts |= EqualityIndex.instance(state).facts((ClassSymbol) type.tsym, state);
+    }
+    return facts;
+  }
+
   private static boolean isThis(Tree tree) {
     if (tree.getKind().equals(IDENTIFIER)) {
       final IdentifierTree identifier = (IdentifierTree) tree;
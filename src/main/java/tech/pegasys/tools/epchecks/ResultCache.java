@@ -0,0 +1,646 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Modifier;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.Fix;
+import com.google.errorprone.fixes.Replacement;
+import com.google.errorprone.fixes.Replacements.CoalescePolicy;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.tools.javac.code.Scope.LookupKind;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.tree.EndPosTable;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.JCDiagnostic.DiagnosticPosition;
+
+/**
+ * Caches the findings of every compilation unit on disk, enabled with <code>
+ * -XepOpt:EpChecks:ResultCacheDirectory=&lt;path&gt;</code>. When a compilation unit is compiled
+ * again unchanged, its stored findings are reported instead of running the checks.
+ *
+ * <p>An entry is keyed by the hash of the source of the compilation unit, the signatures of the
+ * classes it references and their supertypes, including the annotations of the classes, their
+ * members and parameters, which checks such as ReferenceComparison depend on, the flags and
+ * severities of the compilation and the version of this plugin. Entries are small binary files, and
+ * the least recently used ones are deleted when the compilation finishes with more than <code>
+ * EpChecks:ResultCacheMaxEntries</code> entries, 10000 by default.
+ */
+final class ResultCache {
+
+  static final String DIRECTORY_FLAG = "EpChecks:ResultCacheDirectory";
+  static final String MAX_ENTRIES_FLAG = "EpChecks:ResultCacheMaxEntries";
+
+  private static final int DEFAULT_MAX_ENTRIES = 10_000;
+  private static final int FORMAT = 0x45504301;
+  private static final String ENTRY_SUFFIX = ".bin";
+
+  // Flags that only configure outputs and do not change the findings.
+  private static final ImmutableList<String> OUTPUT_FLAGS =
+      ImmutableList.of(
+          DIRECTORY_FLAG,
+          MAX_ENTRIES_FLAG,
+          CheckerTimings.TIMINGS_FILE_FLAG,
+          CheckerMetrics.METRICS_FILE_FLAG);
+
+  // Flags naming files whose contents change the findings.
+  private static final ImmutableList<String> INPUT_FILE_FLAGS =
+      ImmutableList.of(BannedMethod.RULES_FILE_FLAG, ChangedLines.CHANGED_LINES_FILE_FLAG);
+
+  private final Path directory;
+  private final int maxEntries;
+  private final HashCode configuration;
+
+  // Signatures of the referenced classes, computed once per compilation.
+  private final Map<ClassSymbol, HashCode> signatures = new IdentityHashMap<>();
+
+  // The compilation unit the checks are currently visiting, with its stored findings on a cache
+  // hit or the findings recorded so far on a miss.
+  private CompilationUnitTree lastCompilationUnit;
+  private Path lastEntry;
+  private Map<String, List<CachedFinding>> lastCached;
+  private final Set<String> lastReplayed = new HashSet<>();
+  private final List<CachedFinding> lastRecorded = new ArrayList<>();
+
+  private ResultCache(final Path directory, final int maxEntries, final HashCode configuration) {
+    this.directory = directory;
+    this.maxEntries = maxEntries;
+    this.configuration = configuration;
+  }
+
+  static Optional<ResultCache> create(final VisitorState state) {
+    final ErrorProneFlags flags = state.errorProneOptions().getFlags();
+    final Optional<String> directory = flags.get(DIRECTORY_FLAG);
+    if (directory.isEmpty()) {
+      return Optional.empty();
+    }
+    final ResultCache cache =
+        new ResultCache(
+            Path.of(directory.get()),
+            flags.getInteger(MAX_ENTRIES_FLAG).orElse(DEFAULT_MAX_ENTRIES),
+            configuration(flags, state));
+    CheckerRuntime.whenCompilationFinished(state, cache::finish);
+    return Optional.of(cache);
+  }
+
+  /** Whether the findings of the compilation unit of the given state are cached. */
+  boolean isCached(final VisitorState state) {
+    final CompilationUnitTree compilationUnit = state.getPath().getCompilationUnit();
+    if (compilationUnit != lastCompilationUnit) {
+      flush();
+      lastCompilationUnit = compilationUnit;
+      lastEntry = directory.resolve(key(compilationUnit, state) + ENTRY_SUFFIX);
+      lastCached = readEntry(lastEntry);
+      lastReplayed.clear();
+      lastRecorded.clear();
+    }
+    return lastCached != null;
+  }
+
+  /**
+   * The cached findings of the given check in the current compilation unit, returned to the first
+   * call of the check only.
+   */
+  List<Description> replay(final BugChecker checker) {
+    if (!lastReplayed.add(checker.canonicalName())) {
+      return List.of();
+    }
+    final List<CachedFinding> findings = lastCached.get(checker.canonicalName());
+    if (findings == null) {
+      return List.of();
+    }
+    final List<Description> descriptions = new ArrayList<>(findings.size());
+    for (final CachedFinding finding : findings) {
+      descriptions.add(finding.toDescription());
+    }
+    return descriptions;
+  }
+
+  /** Records a finding of the current compilation unit, which was not cached. */
+  void record(final Description description) {
+    lastRecorded.add(
+        CachedFinding.of(description, ((JCCompilationUnit) lastCompilationUnit).endPositions));
+  }
+
+  private void finish() {
+    flush();
+    evict();
+  }
+
+  private void flush() {
+    if (lastCompilationUnit != null && lastCached == null) {
+      writeEntry(lastEntry, lastRecorded);
+    }
+    lastCompilationUnit = null;
+  }
+
+  private String key(final CompilationUnitTree compilationUnit, final VisitorState state) {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putBytes(configuration.asBytes());
+    hasher.putString(compilationUnit.getSourceFile().toUri().toString(), UTF_8);
+    try {
+      hasher.putString(compilationUnit.getSourceFile().getCharContent(true), UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          "Unable to read " + compilationUnit.getSourceFile().getName(), e);
+    }
+    for (final ClassSymbol referenced : referencedClasses(compilationUnit, state)) {
+      hasher.putBytes(signature(referenced, state.getTypes()).asBytes());
+    }
+    return hasher.hash().toString();
+  }
+
+  // The classes referenced by the compilation unit and all of their supertypes, by name.
+  private static Iterable<ClassSymbol> referencedClasses(
+      final CompilationUnitTree compilationUnit, final VisitorState state) {
+    final Map<String, ClassSymbol> referenced = new TreeMap<>();
+    new TreeScanner() {
+      @Override
+      public void scan(final JCTree tree) {
+        if (tree != null) {
+          if (tree.type != null) {
+            add(tree.type.tsym);
+          }
+          add(TreeInfo.symbol(tree));
+        }
+        super.scan(tree);
+      }
+
+      private void add(final Symbol symbol) {
+        final ClassSymbol owner = symbol == null ? null : symbol.enclClass();
+        if (owner != null && !referenced.containsKey(owner.flatName().toString())) {
+          for (final Type superType : state.getTypes().closure(owner.type)) {
+            if (superType.tsym instanceof ClassSymbol) {
+              referenced.put(
+                  ((ClassSymbol) superType.tsym).flatName().toString(),
+                  (ClassSymbol) superType.tsym);
+            }
+          }
+          referenced.put(owner.flatName().toString(), owner);
+        }
+      }
+    }.scan((JCCompilationUnit) compilationUnit);
+    return referenced.values();
+  }
+
+  private HashCode signature(final ClassSymbol symbol, final Types types) {
+    final HashCode cached = signatures.get(symbol);
+    if (cached != null) {
+      return cached;
+    }
+    final Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(symbol.flatName().toString(), UTF_8);
+    putModifiers(hasher, symbol);
+    putAnnotations(hasher, symbol);
+    hasher.putString(String.valueOf(types.supertype(symbol.type)), UTF_8);
+    hasher.putString(String.valueOf(types.interfaces(symbol.type)), UTF_8);
+    for (final Symbol member : symbol.members().getSymbols(LookupKind.NON_RECURSIVE)) {
+      hasher.putString(member.name.toString(), UTF_8);
+      putModifiers(hasher, member);
+      putAnnotations(hasher, member);
+      hasher.putString(String.valueOf(member.type), UTF_8);
+      if (member instanceof MethodSymbol) {
+        for (final VarSymbol parameter : ((MethodSymbol) member).getParameters()) {
+          putAnnotations(hasher, parameter);
+        }
+      }
+    }
+    final HashCode signature = hasher.hash();
+    signatures.put(symbol, signature);
+    return signature;
+  }
+
+  private static void putModifiers(final Hasher hasher, final Symbol symbol) {
+    for (final Modifier modifier : symbol.getModifiers()) {
+      hasher.putInt(modifier.ordinal());
+    }
+    hasher.putInt(-1);
+  }
+
+  private static void putAnnotations(final Hasher hasher, final Symbol symbol) {
+    for (final AnnotationMirror annotation : symbol.getAnnotationMirrors()) {
+      hasher.putString(annotation.toString(), UTF_8);
+    }
+    hasher.putInt(-1);
+  }
+
+  private static HashCode configuration(final ErrorProneFlags flags, final VisitorState state) {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(pluginVersion(), UTF_8);
+    new TreeMap<>(flags.getFlagsMap())
+        .forEach(
+            (flag, value) -> {
+              if (!OUTPUT_FLAGS.contains(flag)) {
+                hasher.putString(flag, UTF_8).putString(value, UTF_8);
+              }
+            });
+    for (final String flag : INPUT_FILE_FLAGS) {
+      final Optional<String> file = flags.get(flag);
+      if (file.isPresent()) {
+        try {
+          hasher.putBytes(Files.readAllBytes(Path.of(file.get())));
+        } catch (final IOException e) {
+          throw new UncheckedIOException("Unable to read " + file.get(), e);
+        }
+      }
+    }
+    new TreeMap<>(state.severityMap())
+        .forEach((check, severity) -> hasher.putString(check, UTF_8).putInt(severity.ordinal()));
+    return hasher.hash();
+  }
+
+  // Development builds share a version, so the time the plugin was built tells them apart.
+  private static String pluginVersion() {
+    final String version =
+        String.valueOf(ResultCache.class.getPackage().getImplementationVersion());
+    final CodeSource codeSource = ResultCache.class.getProtectionDomain().getCodeSource();
+    if (codeSource == null) {
+      return version;
+    }
+    try {
+      return version
+          + "@"
+          + Files.getLastModifiedTime(Path.of(codeSource.getLocation().toURI())).toMillis();
+    } catch (final IOException | URISyntaxException | IllegalArgumentException e) {
+      return version;
+    }
+  }
+
+  private static Map<String, List<CachedFinding>> readEntry(final Path entry) {
+    final Map<String, List<CachedFinding>> findings = new HashMap<>();
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+      if (in.readInt() != FORMAT) {
+        return null;
+      }
+      final int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        final CachedFinding finding = CachedFinding.read(in);
+        findings.computeIfAbsent(finding.checkName, c -> new ArrayList<>()).add(finding);
+      }
+    } catch (final IOException | RuntimeException e) {
+      // A missing entry is a miss, and so is a corrupt one, which is written again.
+      return null;
+    }
+    // Entries are evicted by the time they were last used.
+    try {
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (final IOException e) {
+      // Only makes the entry more likely to be evicted.
+    }
+    return findings;
+  }
+
+  private static void writeEntry(final Path entry, final List<CachedFinding> findings) {
+    try {
+      Files.createDirectories(entry.getParent());
+      // Written next to the entry and moved in place, so concurrent compilations never read a
+      // partial entry.
+      final Path temporary = Files.createTempFile(entry.getParent(), "entry", ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        out.writeInt(FORMAT);
+        out.writeInt(findings.size());
+        for (final CachedFinding finding : findings) {
+          finding.write(out);
+        }
+      }
+      Files.move(
+          temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to write result cache entry " + entry, e);
+    }
+  }
+
+  private void evict() {
+    final List<Path> entries;
+    try (Stream<Path> files = Files.list(directory)) {
+      entries = files.filter(file -> file.toString().endsWith(ENTRY_SUFFIX)).toList();
+    } catch (final NoSuchFileException e) {
+      return;
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to list result cache " + directory, e);
+    }
+    if (entries.size() <= maxEntries) {
+      return;
+    }
+    final Map<Path, FileTime> lastUsed = new HashMap<>();
+    for (final Path entry : entries) {
+      try {
+        lastUsed.put(entry, Files.getLastModifiedTime(entry));
+      } catch (final IOException e) {
+        // Deleted by a concurrent compilation.
+      }
+    }
+    lastUsed.entrySet().stream()
+        .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+        .limit(Math.max(0, lastUsed.size() - maxEntries))
+        .forEach(
+            entry -> {
+              try {
+                Files.deleteIfExists(entry.getKey());
+              } catch (final IOException e) {
+                // Evicted again by the next compilation.
+              }
+            });
+  }
+
+  private static void writeString(final DataOutputStream out, final String value)
+      throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    final byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(final DataInputStream in) throws IOException {
+    final int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /** A finding as stored in a cache entry. */
+  private static final class CachedFinding {
+    private final String checkName;
+    private final String message;
+    private final String link;
+    private final int startPosition;
+    private final int preferredPosition;
+    private final int endPosition;
+    private final List<CachedFix> fixes;
+
+    private CachedFinding(
+        final String checkName,
+        final String message,
+        final String link,
+        final int startPosition,
+        final int preferredPosition,
+        final int endPosition,
+        final List<CachedFix> fixes) {
+      this.checkName = checkName;
+      this.message = message;
+      this.link = link;
+      this.startPosition = startPosition;
+      this.preferredPosition = preferredPosition;
+      this.endPosition = endPosition;
+      this.fixes = fixes;
+    }
+
+    private static CachedFinding of(final Description description, final EndPosTable endPositions) {
+      final List<CachedFix> fixes = new ArrayList<>(description.fixes.size());
+      for (final Fix fix : description.fixes) {
+        fixes.add(CachedFix.of(fix, endPositions));
+      }
+      return new CachedFinding(
+          description.checkName,
+          description.getRawMessage(),
+          description.getLink(),
+          description.position.getStartPosition(),
+          description.position.getPreferredPosition(),
+          description.position.getEndPosition(endPositions),
+          fixes);
+    }
+
+    private Description toDescription() {
+      final Description.Builder builder =
+          Description.builder(
+              new CachedPosition(startPosition, preferredPosition, endPosition),
+              checkName,
+              link,
+              message);
+      for (final CachedFix fix : fixes) {
+        builder.addFix(fix.toFix());
+      }
+      return builder.build();
+    }
+
+    private void write(final DataOutputStream out) throws IOException {
+      writeString(out, checkName);
+      writeString(out, message);
+      writeString(out, link);
+      out.writeInt(startPosition);
+      out.writeInt(preferredPosition);
+      out.writeInt(endPosition);
+      out.writeInt(fixes.size());
+      for (final CachedFix fix : fixes) {
+        fix.write(out);
+      }
+    }
+
+    private static CachedFinding read(final DataInputStream in) throws IOException {
+      final String checkName = readString(in);
+      final String message = readString(in);
+      final String link = readString(in);
+      final int startPosition = in.readInt();
+      final int preferredPosition = in.readInt();
+      final int endPosition = in.readInt();
+      final int fixCount = in.readInt();
+      final List<CachedFix> fixes = new ArrayList<>(fixCount);
+      for (int i = 0; i < fixCount; i++) {
+        fixes.add(CachedFix.read(in));
+      }
+      return new CachedFinding(
+          checkName, message, link, startPosition, preferredPosition, endPosition, fixes);
+    }
+  }
+
+  /** A suggested fix as stored in a cache entry, with its replacements resolved to offsets. */
+  private static final class CachedFix {
+    private static final String IMPORT = "import ";
+    private static final String STATIC_IMPORT = "import static ";
+
+    private final String shortDescription;
+    private final CoalescePolicy coalescePolicy;
+    private final List<Replacement> replacements;
+    private final List<String> importsToAdd;
+    private final List<String> importsToRemove;
+
+    private CachedFix(
+        final String shortDescription,
+        final CoalescePolicy coalescePolicy,
+        final List<Replacement> replacements,
+        final List<String> importsToAdd,
+        final List<String> importsToRemove) {
+      this.shortDescription = shortDescription;
+      this.coalescePolicy = coalescePolicy;
+      this.replacements = replacements;
+      this.importsToAdd = importsToAdd;
+      this.importsToRemove = importsToRemove;
+    }
+
+    private static CachedFix of(final Fix fix, final EndPosTable endPositions) {
+      return new CachedFix(
+          fix.getShortDescription(),
+          fix.getCoalescePolicy(),
+          ImmutableList.copyOf(fix.getReplacements(endPositions)),
+          ImmutableList.copyOf(fix.getImportsToAdd()),
+          ImmutableList.copyOf(fix.getImportsToRemove()));
+    }
+
+    private Fix toFix() {
+      final SuggestedFix.Builder fix =
+          SuggestedFix.builder()
+              .setShortDescription(shortDescription)
+              .setCoalescePolicy(coalescePolicy);
+      for (final Replacement replacement : replacements) {
+        fix.replace(
+            replacement.startPosition(), replacement.endPosition(), replacement.replaceWith());
+      }
+      // Imports are stored as the statements the fix adds or removes.
+      for (final String importToAdd : importsToAdd) {
+        if (importToAdd.startsWith(STATIC_IMPORT)) {
+          fix.addStaticImport(importToAdd.substring(STATIC_IMPORT.length()));
+        } else {
+          fix.addImport(importToAdd.substring(IMPORT.length()));
+        }
+      }
+      for (final String importToRemove : importsToRemove) {
+        if (importToRemove.startsWith(STATIC_IMPORT)) {
+          fix.removeStaticImport(importToRemove.substring(STATIC_IMPORT.length()));
+        } else {
+          fix.removeImport(importToRemove.substring(IMPORT.length()));
+        }
+      }
+      return fix.build();
+    }
+
+    private void write(final DataOutputStream out) throws IOException {
+      writeString(out, shortDescription);
+      out.writeByte(coalescePolicy.ordinal());
+      out.writeInt(replacements.size());
+      for (final Replacement replacement : replacements) {
+        out.writeInt(replacement.startPosition());
+        out.writeInt(replacement.endPosition());
+        writeString(out, replacement.replaceWith());
+      }
+      writeStrings(out, importsToAdd);
+      writeStrings(out, importsToRemove);
+    }
+
+    private static CachedFix read(final DataInputStream in) throws IOException {
+      final String shortDescription = readString(in);
+      final CoalescePolicy coalescePolicy = CoalescePolicy.values()[in.readByte()];
+      final int replacementCount = in.readInt();
+      final List<Replacement> replacements = new ArrayList<>(replacementCount);
+      for (int i = 0; i < replacementCount; i++) {
+        final int start = in.readInt();
+        final int end = in.readInt();
+        replacements.add(Replacement.create(start, end, readString(in)));
+      }
+      return new CachedFix(
+          shortDescription, coalescePolicy, replacements, readStrings(in), readStrings(in));
+    }
+
+    private static void writeStrings(final DataOutputStream out, final List<String> values)
+        throws IOException {
+      out.writeInt(values.size());
+      for (final String value : values) {
+        writeString(out, value);
+      }
+    }
+
+    private static List<String> readStrings(final DataInputStream in) throws IOException {
+      final int count = in.readInt();
+      final List<String> values = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        values.add(readString(in));
+      }
+      return values;
+    }
+  }
+
+  /** The position of a cached finding, which has no tree in the current compilation. */
+  private static final class CachedPosition implements DiagnosticPosition {
+    private final int startPosition;
+    private final int preferredPosition;
+    private final int endPosition;
+
+    private CachedPosition(
+        final int startPosition, final int preferredPosition, final int endPosition) {
+      this.startPosition = startPosition;
+      this.preferredPosition = preferredPosition;
+      this.endPosition = endPosition;
+    }
+
+    @Override
+    public JCTree getTree() {
+      return null;
+    }
+
+    @Override
+    public int getStartPosition() {
+      return startPosition;
+    }
+
+    @Override
+    public int getPreferredPosition() {
+      return preferredPosition;
+    }
+
+    @Override
+    public int getEndPosition(final EndPosTable endPosTable) {
+      return endPosition;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.source.tree.CompilationUnitTree;
+
+/** Matches the paths of compilation units against globs given in Error Prone flags. */
+final class SourcePaths {
+
+  private SourcePaths() {}
+
+  /** Compiles globs, such as <code>**&#47;generated/**</code>. */
+  static ImmutableList<PathMatcher> globs(final List<String> globs) {
+    final ImmutableList.Builder<PathMatcher> matchers = ImmutableList.builder();
+    for (final String glob : globs) {
+      matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+    }
+    return matchers.build();
+  }
+
+  static Path path(final CompilationUnitTree compilationUnit) {
+    final URI uri = compilationUnit.getSourceFile().toUri();
+    final String path = uri.getPath();
+    return Path.of(path != null ? path : compilationUnit.getSourceFile().getName());
+  }
+
+  static boolean matchesAny(final List<PathMatcher> globs, final Path path) {
+    for (final PathMatcher glob : globs) {
+      if (glob.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.errorprone.VisitorState;
+import com.sun.tools.javac.code.Symbol.TypeSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.util.Context;
+
+/**
+ * Well-known types shared by the checks in this package. Each type is resolved once per javac
+ * {@link Context}, and subtype answers are memoized by the symbol of the tested class, so checks
+ * asking the same question about the same class on every node only pay for it once per compilation.
+ * Types that are not on the classpath resolve to <code>null</code> and have no subtypes.
+ */
+final class TypeFacts {
+
+  private static final Context.Key<TypeFacts> KEY = new Context.Key<>();
+
+  private final Map<String, Type> typesByName = new HashMap<>();
+  private final Map<Object, Map<TypeSymbol, Boolean>> subtypeAnswers = new HashMap<>();
+
+  private TypeFacts() {}
+
+  static TypeFacts instance(final VisitorState state) {
+    final Context context = state.context;
+    TypeFacts typeFacts = context.get(KEY);
+    if (typeFacts == null) {
+      typeFacts = new TypeFacts();
+      context.put(KEY, typeFacts);
+    }
+    return typeFacts;
+  }
+
+  /** The type with the given name, or <code>null</code> when it is not on the classpath. */
+  Type type(final String name, final VisitorState state) {
+    if (typesByName.containsKey(name)) {
+      return typesByName.get(name);
+    }
+    final Type type = state.getTypeFromString(name);
+    typesByName.put(name, type);
+    return type;
+  }
+
+  /** Whether the erasure of the type is a subtype of the erasure of the named type. */
+  boolean isSubtype(final Type type, final String supertype, final VisitorState state) {
+    if (type == null) {
+      return false;
+    }
+    final Map<TypeSymbol, Boolean> answers = answers(supertype, type);
+    if (answers == null) {
+      return computeIsSubtype(type, supertype, state);
+    }
+    final Boolean answer = answers.get(type.tsym);
+    if (answer != null) {
+      return answer;
+    }
+    final boolean computed = computeIsSubtype(type, supertype, state);
+    answers.put(type.tsym, computed);
+    return computed;
+  }
+
+  /**
+   * Whether the erasure of the type is a subtype of the erasure of any of the named types. The
+   * answer is memoized for the list as a whole, so callers should pass a constant.
+   */
+  boolean isSubtypeOfAny(final Type type, final List<String> supertypes, final VisitorState state) {
+    if (type == null) {
+      return false;
+    }
+    final Map<TypeSymbol, Boolean> answers = answers(supertypes, type);
+    if (answers == null) {
+      return computeIsSubtypeOfAny(type, supertypes, state);
+    }
+    final Boolean answer = answers.get(type.tsym);
+    if (answer != null) {
+      return answer;
+    }
+    final boolean computed = computeIsSubtypeOfAny(type, supertypes, state);
+    answers.put(type.tsym, computed);
+    return computed;
+  }
+
+  // Only classes and interfaces are identified by their symbol. Arrays share a single symbol and
+  // type variables are erased to their bound, so those are not memoized.
+  private Map<TypeSymbol, Boolean> answers(final Object supertypes, final Type type) {
+    if (!type.hasTag(TypeTag.CLASS)) {
+      return null;
+    }
+    return subtypeAnswers.computeIfAbsent(supertypes, key -> new IdentityHashMap<>());
+  }
+
+  private boolean computeIsSubtypeOfAny(
+      final Type type, final List<String> supertypes, final VisitorState state) {
+    for (final String supertype : supertypes) {
+      if (computeIsSubtype(type, supertype, state)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean computeIsSubtype(
+      final Type type, final String supertype, final VisitorState state) {
+    final Type resolved = type(supertype, state);
+    if (resolved == null) {
+      return false;
+    }
+    final Types types = state.getTypes();
+    return types.isSubtype(types.erasure(type), types.erasure(resolved));
+  }
+}
@@ -12,6 +12,9 @@
  */
 package tech.pegasys.tools.epchecks;
 
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+
 import com.google.errorprone.CompilationTestHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,4 +37,13 @@ public class BannedMethodTest {
   public void bannedMethodsNegativeCases() {
     compilationHelper.addSourceFile("BannedMethodNegativeCases.java").doTest();
   }
+
+  @Test
+  public void bannedMethodsFromRulesFile() throws URISyntaxException {
+    final Path rulesFile = Path.of(getClass().getResource("BannedMethodRules.txt").toURI());
+    compilationHelper
+        .setArgs("-XepOpt:" + BannedMethod.RULES_FILE_FLAG + "=" + rulesFile)
+        .addSourceFile("BannedMethodRulesFileCases.java")
+        .doTest();
+  }
 }
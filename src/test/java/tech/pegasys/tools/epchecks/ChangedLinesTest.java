@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChangedLinesTest {
+
+  @TempDir Path tempDir;
+
+  private CompilationTestHelper compilationHelper;
+
+  @BeforeEach
+  public void setup() {
+    compilationHelper = CompilationTestHelper.newInstance(ReferenceComparison.class, getClass());
+  }
+
+  @Test
+  public void reportsOnlyInChangedLineRanges() throws IOException {
+    final Path changedLinesFile = tempDir.resolve("changed-lines.txt");
+    Files.write(
+        changedLinesFile, List.of("# changed lines", "ChangedLinesCases.java:21-22"), UTF_8);
+    compilationHelper
+        .addSourceFile("ChangedLinesCases.java")
+        .setArgs("-XepOpt:" + ChangedLines.CHANGED_LINES_FILE_FLAG + "=" + changedLinesFile)
+        .doTest();
+  }
+
+  @Test
+  public void reportsOnlyInChangedHunksOfUnifiedDiff() throws IOException {
+    final Path diff = tempDir.resolve("changes.diff");
+    Files.write(
+        diff,
+        List.of(
+            "diff --git a/tech/pegasys/tools/epchecks/ChangedLinesCases.java"
+                + " b/tech/pegasys/tools/epchecks/ChangedLinesCases.java",
+            "--- a/tech/pegasys/tools/epchecks/ChangedLinesCases.java",
+            "+++ b/tech/pegasys/tools/epchecks/ChangedLinesCases.java",
+            "@@ -21,0 +22 @@ public class ChangedLinesCases {",
+            "+    return a == b;"),
+        UTF_8);
+    compilationHelper
+        .addSourceFile("ChangedLinesCases.java")
+        .setArgs("-XepOpt:" + ChangedLines.CHANGED_LINES_FILE_FLAG + "=" + diff)
+        .doTest();
+  }
+
+  @Test
+  public void skipsCompilationUnitsOutsideOfPatch() throws IOException {
+    final Path changedLinesFile = tempDir.resolve("changed-lines.txt");
+    Files.write(changedLinesFile, List.of("ChangedLinesCases.java:21-22"), UTF_8);
+    compilationHelper
+        .addSourceFile("ReferenceComparisonPositiveCases.java")
+        .setArgs("-XepOpt:" + ChangedLines.CHANGED_LINES_FILE_FLAG + "=" + changedLinesFile)
+        .expectNoDiagnostics()
+        .doTest();
+  }
+}
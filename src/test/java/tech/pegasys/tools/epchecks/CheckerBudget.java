@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.matchers.Description.NO_MATCH;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.ErrorProneJavaCompiler;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.AnnotationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.BinaryTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ClassTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ReturnTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.scanner.ScannerSupplier;
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+/**
+ * Measures what a check costs on a fixed stress input, as the ratio of the CPU time and of the
+ * bytes allocated by the compiling thread while the input is analyzed, which is when Error Prone
+ * runs, to those of analyzing it with {@link NoOp}, which matches the same trees and reports
+ * nothing. Compilations with the check and with the baseline alternate, and each cost is the lowest
+ * of several of them after warming up, which keeps the ratios stable enough to hold against a
+ * budget.
+ */
+final class CheckerBudget {
+
+  static final String STRESS_INPUT = "CheckerBudgetStressInput.java";
+
+  private static final int WARMUP_COMPILATIONS = 5;
+  private static final int MEASURED_COMPILATIONS = 9;
+  private static final List<String> OPTIONS =
+      List.of(
+          "-classpath",
+          System.getProperty("java.class.path"),
+          "-proc:none",
+          "-XDcompilePolicy=simple",
+          "--should-stop=ifError=FLOW",
+          "--should-stop=ifNoError=FLOW");
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  /** The cost of a compilation on the compiling thread. */
+  static final class Cost {
+    final long cpuNanos;
+    final long allocatedBytes;
+
+    Cost(final long cpuNanos, final long allocatedBytes) {
+      this.cpuNanos = cpuNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    /** The lower of this and the given cost in time and in allocation. */
+    Cost min(final Cost other) {
+      return new Cost(
+          Math.min(cpuNanos, other.cpuNanos), Math.min(allocatedBytes, other.allocatedBytes));
+    }
+
+    /** The ratio of this cost's time to the baseline's. */
+    double timeRatio(final Cost baseline) {
+      return (double) cpuNanos / baseline.cpuNanos;
+    }
+
+    /** The ratio of this cost's allocation to the baseline's. */
+    double allocationRatio(final Cost baseline) {
+      return (double) allocatedBytes / baseline.allocatedBytes;
+    }
+  }
+
+  private final List<JavaFileObject> sources;
+
+  CheckerBudget() {
+    this.sources = List.of(new StressInput(read(STRESS_INPUT)));
+  }
+
+  /**
+   * The lowest costs of analyzing the stress input with the given check and with the baseline, in
+   * this order.
+   */
+  List<Cost> measure(final Class<? extends BugChecker> checker) {
+    final ErrorProneJavaCompiler checked = compiler(checker);
+    final ErrorProneJavaCompiler baseline = compiler(NoOp.class);
+    try (StandardJavaFileManager fileManager = checked.getStandardFileManager(null, null, UTF_8)) {
+      for (int i = 0; i < WARMUP_COMPILATIONS; i++) {
+        compile(checked, fileManager);
+        compile(baseline, fileManager);
+      }
+      Cost checkedCost = new Cost(Long.MAX_VALUE, Long.MAX_VALUE);
+      Cost baselineCost = new Cost(Long.MAX_VALUE, Long.MAX_VALUE);
+      for (int i = 0; i < MEASURED_COMPILATIONS; i++) {
+        checkedCost = checkedCost.min(compile(checked, fileManager));
+        baselineCost = baselineCost.min(compile(baseline, fileManager));
+      }
+      return List.of(checkedCost, baselineCost);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static ErrorProneJavaCompiler compiler(final Class<? extends BugChecker> checker) {
+    return new ErrorProneJavaCompiler(
+        ScannerSupplier.fromBugCheckerClasses(ImmutableList.of(checker)));
+  }
+
+  /** Compiles the stress input and returns the cost of analyzing it. */
+  private Cost compile(
+      final ErrorProneJavaCompiler compiler, final StandardJavaFileManager fileManager) {
+    // Findings are expected, the stress input is only useful if it fully compiles.
+    final JavacTask task =
+        (JavacTask)
+            compiler.getTask(
+                null,
+                fileManager,
+                diagnostic -> {
+                  if (diagnostic.getKind() == Diagnostic.Kind.ERROR
+                      && !String.valueOf(diagnostic.getCode()).endsWith(".error.prone")) {
+                    throw new IllegalStateException(diagnostic.toString());
+                  }
+                },
+                OPTIONS,
+                null,
+                sources);
+    final AnalysisCost cost = new AnalysisCost();
+    // Error Prone registered its listener first, so it analyzes before this one finishes.
+    task.addTaskListener(cost);
+    task.call();
+    return new Cost(cost.cpuNanos, cost.allocatedBytes);
+  }
+
+  private static String read(final String resource) {
+    try (InputStream in = CheckerBudget.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing resource " + resource);
+      }
+      return new String(in.readAllBytes(), UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Matches every kind of tree a check of this plugin matches, and reports nothing. */
+  @BugPattern(
+      name = "NoOp",
+      summary = "Matches trees without reporting them, the baseline of check budgets.",
+      severity = SUGGESTION,
+      linkType = BugPattern.LinkType.NONE)
+  public static class NoOp extends BugChecker
+      implements AnnotationTreeMatcher,
+          BinaryTreeMatcher,
+          ClassTreeMatcher,
+          MethodInvocationTreeMatcher,
+          MethodTreeMatcher,
+          NewClassTreeMatcher,
+          ReturnTreeMatcher,
+          VariableTreeMatcher {
+
+    @Override
+    public Description matchAnnotation(final AnnotationTree tree, final VisitorState state) {
+      return NO_MATCH;
+    }
+
+    @Override
+    public Description matchBinary(final BinaryTree tree, final VisitorState state) {
+      return NO_MATCH;
+    }
+
+    @Override
+    public Description matchClass(final ClassTree tree, final VisitorState state) {
+      return NO_MATCH;
+    }
+
+    @Override
+    public Description matchMethodInvocation(
+        final MethodInvocationTree tree, final VisitorState state) {
+      return NO_MATCH;
+    }
+
+    @Override
+    public Description matchMethod(final MethodTree tree, final VisitorState state) {
+      return NO_MATCH;
+    }
+
+    @Override
+    public Description matchNewClass(final NewClassTree tree, final VisitorState state) {
+      return NO_MATCH;
+    }
+
+    @Override
+    public Description matchReturn(final ReturnTree tree, final VisitorState state) {
+      return NO_MATCH;
+    }
+
+    @Override
+    public Description matchVariable(final VariableTree tree, final VisitorState state) {
+      return NO_MATCH;
+    }
+  }
+
+  /** Adds up the cost of the analyze phases of a compilation. */
+  private static final class AnalysisCost implements TaskListener {
+    private long cpuNanos;
+    private long allocatedBytes;
+    private long startCpu;
+    private long startAllocated;
+
+    @Override
+    public void started(final TaskEvent event) {
+      if (event.getKind() == TaskEvent.Kind.ANALYZE) {
+        startCpu = THREADS.getCurrentThreadCpuTime();
+        startAllocated = THREADS.getCurrentThreadAllocatedBytes();
+      }
+    }
+
+    @Override
+    public void finished(final TaskEvent event) {
+      if (event.getKind() == TaskEvent.Kind.ANALYZE) {
+        cpuNanos += THREADS.getCurrentThreadCpuTime() - startCpu;
+        allocatedBytes += THREADS.getCurrentThreadAllocatedBytes() - startAllocated;
+      }
+    }
+  }
+
+  private static final class StressInput extends SimpleJavaFileObject {
+    private final String content;
+
+    private StressInput(final String content) {
+      super(URI.create("mem:///tech/pegasys/tools/epchecks/" + STRESS_INPUT), Kind.SOURCE);
+      this.content = content;
+    }
+
+    @Override
+    public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+      return content;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.errorprone.bugpatterns.BugChecker;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+/**
+ * Holds every check to the budgets in <code>CheckerBudgets.properties</code>, so a change that
+ * makes a check much slower or more allocating fails here rather than in the builds that use it.
+ * When a change legitimately costs more, raise the budget in the same change.
+ */
+public class CheckerBudgetTest {
+
+  private static final String BUDGETS = "CheckerBudgets.properties";
+
+  private static CheckerBudget budget;
+  private static Properties budgets;
+
+  @BeforeAll
+  public static void loadBudgets() throws IOException {
+    budget = new CheckerBudget();
+    budgets = new Properties();
+    try (InputStream in = CheckerBudgetTest.class.getResourceAsStream(BUDGETS)) {
+      budgets.load(in);
+    }
+  }
+
+  @TestFactory
+  public Stream<DynamicTest> checksStayWithinTheirBudgets() {
+    return checkers().stream()
+        .map(
+            checker ->
+                DynamicTest.dynamicTest(
+                    checker.getSimpleName(), () -> assertWithinBudget(checker)));
+  }
+
+  private static void assertWithinBudget(final Class<? extends BugChecker> checker) {
+    final String name = checker.getSimpleName();
+    final String timeBudget = budgets.getProperty(name + ".time");
+    final String allocationBudget = budgets.getProperty(name + ".allocation");
+    if (timeBudget == null || allocationBudget == null) {
+      fail("No budget for " + name + " in " + BUDGETS);
+    }
+    final List<CheckerBudget.Cost> costs = budget.measure(checker);
+    final CheckerBudget.Cost cost = costs.get(0);
+    final CheckerBudget.Cost baseline = costs.get(1);
+    final double timeRatio = cost.timeRatio(baseline);
+    final double allocationRatio = cost.allocationRatio(baseline);
+    assertTrue(
+        timeRatio <= Double.parseDouble(timeBudget),
+        String.format(
+            Locale.ROOT,
+            "%s takes %.2f times the CPU time of the baseline, over its budget of %s",
+            name,
+            timeRatio,
+            timeBudget));
+    assertTrue(
+        allocationRatio <= Double.parseDouble(allocationBudget),
+        String.format(
+            Locale.ROOT,
+            "%s allocates %.3f times the bytes of the baseline, over its budget of %s",
+            name,
+            allocationRatio,
+            allocationBudget));
+  }
+
+  private static List<Class<? extends BugChecker>> checkers() {
+    return ServiceLoader.load(BugChecker.class).stream()
+        .map(ServiceLoader.Provider::type)
+        .filter(type -> type.getPackageName().equals(CheckerBudgetTest.class.getPackageName()))
+        .sorted(Comparator.comparing(Class::getName))
+        .collect(Collectors.toList());
+  }
+}
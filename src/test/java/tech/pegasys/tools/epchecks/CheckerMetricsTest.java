@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CheckerMetricsTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void writesFindingsByCheckSeverityAndPackage() throws IOException {
+    final Path metricsFile = tempDir.resolve("metrics/epchecks.prom");
+    CompilationTestHelper.newInstance(ReferenceComparison.class, getClass())
+        .setArgs("-XepOpt:" + CheckerMetrics.METRICS_FILE_FLAG + "=" + metricsFile)
+        .addSourceFile("ReferenceComparisonPositiveCases.java")
+        .doTest();
+
+    final List<String> lines = Files.readAllLines(metricsFile, UTF_8);
+    assertEquals(3, lines.size());
+    assertEquals("# TYPE epchecks_findings_total counter", lines.get(1));
+    assertTrue(
+        lines
+            .get(2)
+            .startsWith(
+                "epchecks_findings_total{check=\"ReferenceComparison\",severity=\"SUGGESTION\","
+                    + "package=\"tech.pegasys.tools.epchecks\"} "));
+  }
+
+  @Test
+  public void usesConfiguredSeverity() throws IOException {
+    final Path metricsFile = tempDir.resolve("epchecks.prom");
+    CompilationTestHelper.newInstance(ReferenceComparison.class, getClass())
+        .setArgs(
+            "-Xep:ReferenceComparison:ERROR",
+            "-XepOpt:" + CheckerMetrics.METRICS_FILE_FLAG + "=" + metricsFile)
+        .addSourceFile("ReferenceComparisonPositiveCases.java")
+        .doTest();
+
+    assertTrue(
+        Files.readAllLines(metricsFile, UTF_8).stream()
+            .anyMatch(line -> line.contains("severity=\"ERROR\"")));
+  }
+
+  @Test
+  public void countsEachMethodTooLargeForTheDataflowOnce() throws IOException {
+    final Path metricsFile = tempDir.resolve("epchecks.prom");
+    CompilationTestHelper.newInstance(DoNotReturnNullOptionals.class, getClass())
+        .setArgs(
+            "-XepOpt:" + DoNotReturnNullOptionals.MAX_STATEMENTS_FLAG + "=3",
+            "-XepOpt:" + CheckerMetrics.METRICS_FILE_FLAG + "=" + metricsFile)
+        .addSourceFile("DoNotReturnNullOptionalsBudgetCases.java")
+        .doTest();
+
+    // The method returning from around a lambda is counted once, as is the other large method
+    // whose return needs the dataflow.
+    assertTrue(
+        Files.readAllLines(metricsFile, UTF_8)
+            .contains(
+                "epchecks_dataflow_skipped_total{check=\"DoNotReturnNullOptionals\","
+                    + "severity=\"SUGGESTION\",package=\"tech.pegasys.tools.epchecks\"} 2"));
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import com.google.errorprone.CompilationTestHelper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CheckerTimingsTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void writesTimingsSummaryWhenCompilationFinishes() throws IOException {
+    final Path timingsFile = tempDir.resolve("timings/epchecks.tsv");
+    CompilationTestHelper.newInstance(ReferenceComparison.class, getClass())
+        .setArgs("-XepOpt:" + CheckerTimings.TIMINGS_FILE_FLAG + "=" + timingsFile)
+        .addSourceFile("ReferenceComparisonPositiveCases.java")
+        .doTest();
+
+    final List<String> lines = Files.readAllLines(timingsFile, UTF_8);
+    assertEquals(2, lines.size());
+    assertEquals("check\tcalls\ttotal_ms\tp99_us", lines.get(0));
+    final String[] columns = lines.get(1).split("\t");
+    assertEquals("ReferenceComparison", columns[0]);
+    assertTrue(Long.parseLong(columns[1]) > 0);
+  }
+
+  @Test
+  public void timesNoMatchesByDefault() throws IOException {
+    final Path recordingFile = tempDir.resolve("epchecks.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(CheckerMatchEvent.class).withThreshold(Duration.ZERO);
+      recording.start();
+      CompilationTestHelper.newInstance(ReferenceComparison.class, getClass())
+          .addSourceFile("ReferenceComparisonPositiveCases.java")
+          .doTest();
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    // Every timed match is recorded as an event, so without timings there are none.
+    assertTrue(
+        RecordingFile.readAllEvents(recordingFile).stream()
+            .noneMatch(
+                event ->
+                    event
+                        .getEventType()
+                        .getName()
+                        .equals("tech.pegasys.tools.epchecks.CheckerMatch")));
+  }
+}
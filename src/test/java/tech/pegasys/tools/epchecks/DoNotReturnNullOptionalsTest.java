@@ -35,4 +35,17 @@ public class DoNotReturnNullOptionalsTest {
   public void doNotReturnNullNegativeCases() {
     compilationHelper.addSourceFile("DoNotReturnNullOptionalsNegativeCases.java").doTest();
   }
+
+  @Test
+  public void doNotReturnNullWithoutOptionalCases() {
+    compilationHelper.addSourceFile("DoNotReturnNullOptionalsWithoutOptionalCases.java").doTest();
+  }
+
+  @Test
+  public void doNotReturnNullBudgetCases() {
+    compilationHelper
+        .setArgs("-XepOpt:" + DoNotReturnNullOptionals.MAX_STATEMENTS_FLAG + "=3")
+        .addSourceFile("DoNotReturnNullOptionalsBudgetCases.java")
+        .doTest();
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class EqualityIndexTest {
+
+  private static final String CASES =
+      "tech.pegasys.tools.epchecks.ReferenceComparisonNegativeCases";
+
+  @TempDir Path tempDir;
+
+  private CompilationTestHelper compilationHelper;
+
+  @BeforeEach
+  public void setup() {
+    compilationHelper = CompilationTestHelper.newInstance(ReferenceComparison.class, getClass());
+  }
+
+  @Test
+  public void writesIndexOfCompiledClasses() throws IOException {
+    compilationHelper
+        .addSourceFile("ReferenceComparisonNegativeCases.java")
+        .setArgs("-d", tempDir.toString(), "-XepOpt:" + EqualityIndex.WRITE_INDEX_FLAG + "=true")
+        .doTest();
+
+    final Map<String, Integer> facts = new HashMap<>();
+    EqualityIndex.read(ByteBuffer.wrap(Files.readAllBytes(indexFile())), "test", facts);
+    assertEquals(
+        EqualityIndex.DECLARES_EQUALS | EqualityIndex.DECLARES_HASH_CODE,
+        facts.get(CASES + "$Parent"));
+    assertEquals(
+        EqualityIndex.DECLARES_EQUALS | EqualityIndex.DECLARES_HASH_CODE,
+        facts.get(CASES + "$Child"));
+    assertEquals(EqualityIndex.INTERNED, facts.get(CASES + "$Symbol"));
+    // Enums inherit the final equals() and hashCode() of java.lang.Enum.
+    assertEquals(
+        EqualityIndex.DECLARES_EQUALS | EqualityIndex.DECLARES_HASH_CODE | EqualityIndex.INTERNED,
+        facts.get(CASES + "$TestEnum"));
+    assertEquals(0, facts.get(CASES));
+  }
+
+  @Test
+  public void writesNoIndexByDefault() {
+    compilationHelper
+        .addSourceFile("ReferenceComparisonNegativeCases.java")
+        .setArgs("-d", tempDir.toString())
+        .doTest();
+
+    assertFalse(Files.exists(indexFile()));
+  }
+
+  @Test
+  public void computesFactsOfLibraryTypesWithoutIndex() {
+    compilationHelper
+        .addSourceFile("EqualityIndexCases.java")
+        .setArgs("-classpath", classpathWith(tempDir))
+        .doTest();
+  }
+
+  @Test
+  public void readsFactsOfLibraryTypesFromIndexOnClasspath() throws IOException {
+    Files.createDirectories(indexFile().getParent());
+    try (OutputStream out = Files.newOutputStream(indexFile())) {
+      EqualityIndex.write(Map.of("picocli.CommandLine", EqualityIndex.INTERNED), out);
+    }
+
+    compilationHelper
+        .addSourceFile("EqualityIndexCases.java")
+        .setArgs("-classpath", classpathWith(tempDir))
+        .expectNoDiagnostics()
+        .doTest();
+  }
+
+  private Path indexFile() {
+    return tempDir.resolve("META-INF/epchecks/equality.idx");
+  }
+
+  private static String classpathWith(final Path directory) {
+    return System.getProperty("java.class.path") + File.pathSeparator + directory;
+  }
+}
@@ -40,4 +40,15 @@ public class ExperimentalCliOptionMustBeCorrectlyDisplayedTest {
         .addSourceFile("ExperimentalCliOptionMustBeCorrectlyDisplayedNegativeCases.java")
         .doTest();
   }
+
+  @Test
+  public void experimentalCliOptionInConfiguredCommandPath() {
+    compilationHelper
+        .addSourceFile("ExperimentalCliOptionMustBeCorrectlyDisplayedCommandCases.java")
+        .setArgs(
+            "-XepOpt:"
+                + ExperimentalCliOptionMustBeCorrectlyDisplayed.COMMAND_PATHS_FLAG
+                + "=**CommandCases.java")
+        .doTest();
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GeneratedCodeTest {
+
+  private CompilationTestHelper compilationHelper;
+
+  @BeforeEach
+  public void setup() {
+    compilationHelper = CompilationTestHelper.newInstance(ReferenceComparison.class, getClass());
+  }
+
+  @Test
+  public void generatedAnnotationSkipsCompilationUnit() {
+    compilationHelper
+        .addSourceFile("GeneratedCodeAnnotatedCases.java")
+        .expectNoDiagnostics()
+        .doTest();
+  }
+
+  @Test
+  public void generatedHeaderSkipsCompilationUnit() {
+    compilationHelper.addSourceFile("GeneratedCodeHeaderCases.java").expectNoDiagnostics().doTest();
+  }
+
+  @Test
+  public void generatedCodeIsCheckedWhenDetectionIsDisabled() {
+    compilationHelper
+        .addSourceFile("GeneratedCodeAnnotatedCases.java")
+        .addSourceFile("GeneratedCodeHeaderCases.java")
+        .setArgs("-XepOpt:EpChecks:SkipGeneratedCode=false")
+        .doTest();
+  }
+
+  @Test
+  public void generatedSourceGlobSkipsCompilationUnit() {
+    compilationHelper
+        .addSourceFile("ReferenceComparisonPositiveCases.java")
+        .setArgs("-XepOpt:EpChecks:GeneratedSourceGlobs=**/ReferenceComparisonPositiveCases.java")
+        .expectNoDiagnostics()
+        .doTest();
+  }
+
+  @Test
+  public void otherSourcesAreCheckedWithGeneratedSourceGlob() {
+    compilationHelper
+        .addSourceFile("ReferenceComparisonPositiveCases.java")
+        .setArgs("-XepOpt:EpChecks:GeneratedSourceGlobs=**/generated/**")
+        .doTest();
+  }
+}
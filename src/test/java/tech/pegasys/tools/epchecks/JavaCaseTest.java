@@ -12,6 +12,8 @@
  */
 package tech.pegasys.tools.epchecks;
 
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
 import com.google.errorprone.CompilationTestHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,10 +21,12 @@ import org.junit.jupiter.api.Test;
 public class JavaCaseTest {
 
   private CompilationTestHelper compilationHelper;
+  private BugCheckerRefactoringTestHelper refactoringHelper;
 
   @BeforeEach
   public void setup() {
     compilationHelper = CompilationTestHelper.newInstance(JavaCase.class, getClass());
+    refactoringHelper = BugCheckerRefactoringTestHelper.newInstance(JavaCase.class, getClass());
   }
 
   @Test
@@ -34,4 +38,12 @@ public class JavaCaseTest {
   public void javaCaseNegativeCases() {
     compilationHelper.addSourceFile("JavaCaseNegativeCases.java").doTest();
   }
+
+  @Test
+  public void javaCaseRenamesClassesAndConstructors() {
+    refactoringHelper
+        .addInput("JavaCaseClassRenameInput.java")
+        .addOutput("JavaCaseClassRenameOutput.java")
+        .doTest(TestMode.TEXT_MATCH);
+  }
 }
@@ -12,6 +12,8 @@
  */
 package tech.pegasys.tools.epchecks;
 
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
 import com.google.errorprone.CompilationTestHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,11 +21,15 @@ import org.junit.jupiter.api.Test;
 public class MethodInputParametersMustBeFinalTest {
 
   private CompilationTestHelper compilationHelper;
+  private BugCheckerRefactoringTestHelper refactoringHelper;
 
   @BeforeEach
   public void setup() {
     compilationHelper =
         CompilationTestHelper.newInstance(MethodInputParametersMustBeFinal.class, getClass());
+    refactoringHelper =
+        BugCheckerRefactoringTestHelper.newInstance(
+            MethodInputParametersMustBeFinal.class, getClass());
   }
 
   @Test
@@ -49,4 +55,12 @@ public class MethodInputParametersMustBeFinalTest {
         .addSourceFile("MethodInputParametersMustBeFinalInterfaceNegativeCases.java")
         .doTest();
   }
+
+  @Test
+  public void methodInputParametersMustBeFinalAddsAllModifiers() {
+    refactoringHelper
+        .addInput("MethodInputParametersMustBeFinalFixInput.java")
+        .addOutput("MethodInputParametersMustBeFinalFixOutput.java")
+        .doTest(TestMode.TEXT_MATCH);
+  }
 }
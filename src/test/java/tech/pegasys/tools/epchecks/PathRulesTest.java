@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PathRulesTest {
+
+  private CompilationTestHelper compilationHelper;
+
+  @BeforeEach
+  public void setup() {
+    compilationHelper = CompilationTestHelper.newInstance(JavaCase.class, getClass());
+  }
+
+  @Test
+  public void checkRunsOnIncludedPaths() {
+    compilationHelper
+        .addSourceFile("JavaCasePositiveCases.java")
+        .setArgs("-XepOpt:JavaCase:" + PathRules.INCLUDE_PATHS_FLAG + "=**/JavaCase*.java")
+        .doTest();
+  }
+
+  @Test
+  public void checkSkipsPathsThatAreNotIncluded() {
+    compilationHelper
+        .addSourceFile("JavaCasePositiveCases.java")
+        .setArgs("-XepOpt:JavaCase:" + PathRules.INCLUDE_PATHS_FLAG + "=**/src/main/**")
+        .expectNoDiagnostics()
+        .doTest();
+  }
+
+  @Test
+  public void checkSkipsExcludedPaths() {
+    compilationHelper
+        .addSourceFile("JavaCasePositiveCases.java")
+        .setArgs(
+            "-XepOpt:JavaCase:" + PathRules.INCLUDE_PATHS_FLAG + "=**/JavaCase*.java",
+            "-XepOpt:JavaCase:" + PathRules.EXCLUDE_PATHS_FLAG + "=**PositiveCases.java")
+        .expectNoDiagnostics()
+        .doTest();
+  }
+
+  @Test
+  public void pathRulesOfOtherChecksAreIgnored() {
+    compilationHelper
+        .addSourceFile("JavaCasePositiveCases.java")
+        .setArgs("-XepOpt:ReferenceComparison:" + PathRules.EXCLUDE_PATHS_FLAG + "=**")
+        .doTest();
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.tools.epchecks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import javax.tools.ToolProvider;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResultCacheTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void replaysFindingsOfUnchangedCompilationUnit() throws IOException {
+    final Path cacheDirectory = tempDir.resolve("cache");
+    compileReferenceComparisonCases(cacheDirectory);
+    assertEquals(1, entries(cacheDirectory));
+
+    // Timings only count the checks that ran, so a replayed compilation unit has none.
+    final Path timingsFile = tempDir.resolve("epchecks.tsv");
+    compileReferenceComparisonCases(
+        cacheDirectory, "-XepOpt:" + CheckerTimings.TIMINGS_FILE_FLAG + "=" + timingsFile);
+    assertEquals(1, Files.readAllLines(timingsFile, UTF_8).size());
+    assertEquals(1, entries(cacheDirectory));
+  }
+
+  @Test
+  public void flagsArePartOfTheKey() throws IOException {
+    final Path cacheDirectory = tempDir.resolve("cache");
+    compileReferenceComparisonCases(cacheDirectory);
+    compileReferenceComparisonCases(
+        cacheDirectory, "-XepOpt:ReferenceComparison:" + PathRules.EXCLUDE_PATHS_FLAG + "=**/none");
+    assertEquals(2, entries(cacheDirectory));
+  }
+
+  @Test
+  public void annotationsOfReferencedClassesArePartOfTheKey() throws IOException {
+    final Path cacheDirectory = tempDir.resolve("cache");
+    final Path dependency = tempDir.resolve("dependency");
+    compileDependency(dependency, "");
+    compileDependencyCases(cacheDirectory, dependency, false);
+
+    // Interned instances may be compared by reference, so the cached finding must not be replayed.
+    compileDependency(dependency, "@Interned");
+    compileDependencyCases(cacheDirectory, dependency, true);
+    assertEquals(2, entries(cacheDirectory));
+  }
+
+  @Test
+  public void replaysFixes() {
+    final Path cacheDirectory = tempDir.resolve("cache");
+    for (int i = 0; i < 2; i++) {
+      BugCheckerRefactoringTestHelper.newInstance(
+              MethodInputParametersMustBeFinal.class, getClass())
+          .setArgs("-XepOpt:" + ResultCache.DIRECTORY_FLAG + "=" + cacheDirectory)
+          .addInput("MethodInputParametersMustBeFinalFixInput.java")
+          .addOutput("MethodInputParametersMustBeFinalFixOutput.java")
+          .doTest(TestMode.TEXT_MATCH);
+    }
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedEntries() throws IOException {
+    final Path cacheDirectory = tempDir.resolve("cache");
+    final String maxEntries = "-XepOpt:" + ResultCache.MAX_ENTRIES_FLAG + "=1";
+    compileReferenceComparisonCases(cacheDirectory, maxEntries);
+    CompilationTestHelper.newInstance(ReferenceComparison.class, getClass())
+        .setArgs("-XepOpt:" + ResultCache.DIRECTORY_FLAG + "=" + cacheDirectory, maxEntries)
+        .addSourceFile("ReferenceComparisonNegativeCases.java")
+        .doTest();
+    assertEquals(1, entries(cacheDirectory));
+  }
+
+  private void compileReferenceComparisonCases(final Path cacheDirectory, final String... args) {
+    CompilationTestHelper.newInstance(ReferenceComparison.class, getClass())
+        .setArgs(
+            Stream.concat(
+                    Stream.of("-XepOpt:" + ResultCache.DIRECTORY_FLAG + "=" + cacheDirectory),
+                    Stream.of(args))
+                .toList())
+        .addSourceFile("ReferenceComparisonPositiveCases.java")
+        .doTest();
+  }
+
+  private void compileDependencyCases(
+      final Path cacheDirectory, final Path dependency, final boolean expectNoDiagnostics) {
+    final CompilationTestHelper helper =
+        CompilationTestHelper.newInstance(ReferenceComparison.class, getClass())
+            .setArgs(
+                "-XepOpt:" + ResultCache.DIRECTORY_FLAG + "=" + cacheDirectory,
+                "-classpath",
+                System.getProperty("java.class.path") + File.pathSeparator + dependency)
+            .addSourceFile("ResultCacheDependencyCases.java");
+    if (expectNoDiagnostics) {
+      helper.expectNoDiagnostics();
+    }
+    helper.doTest();
+  }
+
+  // Compiles the dependency.Amount class referenced by the cases, with the given annotations.
+  private void compileDependency(final Path output, final String annotations) throws IOException {
+    final Path sources = tempDir.resolve("dependency-sources/dependency");
+    Files.createDirectories(sources);
+    Files.writeString(
+        sources.resolve("Interned.java"), "package dependency;\n\npublic @interface Interned {}\n");
+    Files.writeString(
+        sources.resolve("Amount.java"),
+        "package dependency;\n\n" + annotations + "\npublic final class Amount {}\n");
+    final int status =
+        ToolProvider.getSystemJavaCompiler()
+            .run(
+                null,
+                null,
+                null,
+                "-d",
+                output.toString(),
+                sources.resolve("Interned.java").toString(),
+                sources.resolve("Amount.java").toString());
+    assertEquals(0, status);
+  }
+
+  private static long entries(final Path cacheDirectory) throws IOException {
+    try (Stream<Path> files = Files.list(cacheDirectory)) {
+      return files.filter(file -> file.toString().endsWith(".bin")).count();
+    }
+  }
+}
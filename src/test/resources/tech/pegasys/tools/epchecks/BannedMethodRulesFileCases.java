@@ -0,0 +1,51 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package tech.pegasys.tools.epchecks;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+public class BannedMethodRulesFileCases {
+
+  public void sleeps() throws Exception {
+    // BUG: Diagnostic contains: Do not sleep, schedule the work instead.
+    Thread.sleep(1L);
+    Thread.sleep(1L, 1);
+    Thread.sleep(Duration.ofMillis(1));
+  }
+
+  public void exits() {
+    // BUG: Diagnostic contains: Do not exit the JVM from library code.
+    System.exit(1);
+    System.gc();
+  }
+
+  public List<String> usesCollections() {
+    // BUG: Diagnostic contains: Use Guava immutable collections.
+    return Collections.emptyList();
+  }
+
+  public String formats() {
+    // BUG: Diagnostic contains: Use String.formatted instead.
+    return String.format("%s", "a") + String.valueOf(1);
+  }
+
+  public void keepsBuiltInRules() {
+    // BUG: Diagnostic contains: Do not use com.google.common.base.Objects methods
+    com.google.common.base.Objects.equal("1", "1");
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package tech.pegasys.tools.epchecks;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+
+/**
+ * Input compiled to measure the cost of every check, with code that each check inspects, reported
+ * or not. Long expressions, deep nesting and large classes make costs that grow faster than the
+ * input stand out.
+ */
+public class CheckerBudgetStressInput {
+  private static final Logger LOG = LogManager.getLogger();
+  Logger unguardedLogger = LogManager.getLogger();
+
+  @CommandLine.Option(names = {"--Xexperimental-stress"})
+  private String experimental = "";
+
+  @CommandLine.Option(names = {"--regular-stress"}, hidden = true)
+  private String regular = "";
+
+  private final IntList values = new IntArrayList();
+  private final Int2ObjectMap<String> labels = new Int2ObjectOpenHashMap<>();
+  private final Long2LongMap totals = new Long2LongOpenHashMap();
+  private final List<String> names = new ArrayList<>();
+  private int badly_named_counter;
+
+  private enum Mode {
+    FAST,
+    SLOW
+  }
+
+  public long arithmetic(final int key, final int bound, final long scale) {
+    final long chain =
+        Math.max(key, bound) + key * 2 - bound * 3 + Math.min(key, bound) - key * 5 + bound * 7
+            - Math.abs(key) + key * 11 - bound * 13 + Math.max(key, bound) + key * 17 - bound * 19
+            + Math.min(key, bound) - key * 23 + bound * 29 - Math.abs(bound) + key * 31
+            - bound * 37 + Math.max(key, bound) + key * 41 - bound * 43 + Math.min(key, bound);
+    long widened = Math.max(key, bound);
+    if (Math.max(key, bound) > scale && Math.min(key, bound) < chain) {
+      widened += Math.round(scale * 0.5) + Math.abs(key - bound);
+    }
+    return chain + widened * scale;
+  }
+
+  public Optional<Integer> find(final int key, final Mode mode) {
+    final int bound = Math.min(key, values.size());
+    for (int index = 0; index < bound; index++) {
+      if (values.getInt(index) == key && mode == Mode.FAST) {
+        return Optional.of(index);
+      }
+    }
+    values.add(Integer.valueOf(key));
+    for (Map.Entry<Integer, String> entry : labels.entrySet()) {
+      if (entry.getValue() == names.get(0)) {
+        LOG.info("{} {}", entry.getKey(), bound);
+      }
+    }
+    Optional<Integer> maybe = key > 0 ? Optional.empty() : null;
+    if (key < -1) {
+      return null;
+    }
+    return maybe;
+  }
+
+  public Optional<String> label_of(int key) {
+    if (com.google.common.base.Objects.equal(labels.get(key), "")) {
+      return Optional.empty();
+    }
+    totals.put(Long.valueOf(key), Long.valueOf(key * 2L));
+    labels.put(Integer.valueOf(key), "label");
+    return Optional.ofNullable(labels.get(key)).map(String::trim);
+  }
+
+  public byte[] digest(final byte[] input) throws NoSuchAlgorithmException {
+    final SecureRandom random = new SecureRandom();
+    random.nextInt();
+    return MessageDigest.getInstance("SHA-256").digest(input);
+  }
+
+  public boolean compare(Object left, Object right, String first, String second) {
+    return left == right || first == second || (first != null && first.equals(second));
+  }
+
+  class Level1 {
+    private int level_counter;
+
+    long sum(int a, int b) {
+      return Math.max(a, b) + a * 2 - b * 3 + Math.min(a, b);
+    }
+
+    class Level2 {
+      Optional<String> name(final int key) {
+        return key > 0 ? Optional.of(labels.get(key)) : null;
+      }
+
+      class Level3 {
+        boolean same(final String a, final String b) {
+          return a == b;
+        }
+
+        class Level4 {
+          long widen(final int a, final int b) {
+            long widened = Math.max(a, b);
+            return widened + values.getInt(0) + labels.size();
+          }
+
+          class level_five {
+            void record(int key) {
+              values.add(Integer.valueOf(key));
+              labels.put(Integer.valueOf(key), Integer.toString(key));
+            }
+          }
+        }
+      }
+    }
+  }
+}
@@ -21,9 +21,9 @@ import java.security.SecureRandom;
 public class DoNotCreateSecureRandomDirectlyNegativeCases {
 
   public void callsNonJRESecureRandomGetInstance() throws Exception {
-    TestSecureRandom.getInstance("");
-    TestSecureRandom.getInstance("", "");
-    TestSecureRandom.getInstance("", new Provider("", 0, "") {});
+    TestSecureRandomFactory.getInstance("");
+    TestSecureRandomFactory.getInstance("", "");
+    TestSecureRandomFactory.getInstance("", new Provider("", 0, "") {});
   }
 
   public void invokesNonJRESecureRandomConstructor() throws Exception {
@@ -31,4 +31,18 @@ public class DoNotCreateSecureRandomDirectlyNegativeCases {
   }
 
   private class TestSecureRandom extends SecureRandom {}
+
+  private static class TestSecureRandomFactory {
+    static SecureRandom getInstance(final String algorithm) {
+      return null;
+    }
+
+    static SecureRandom getInstance(final String algorithm, final String provider) {
+      return null;
+    }
+
+    static SecureRandom getInstance(final String algorithm, final Provider provider) {
+      return null;
+    }
+  }
 }
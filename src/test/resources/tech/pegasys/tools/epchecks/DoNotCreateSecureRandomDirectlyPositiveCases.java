@@ -31,6 +31,14 @@ public class DoNotCreateSecureRandomDirectlyPositiveCases {
     SecureRandom.getInstance("", new Provider("", 0, "") {});
   }
 
+  public void callsSecureRandomGetInstanceThroughOtherSpellings() throws Exception {
+    // BUG: Diagnostic contains:  Do not create SecureRandom directly.
+    java.security.SecureRandom.getInstance("");
+
+    // BUG: Diagnostic contains:  Do not create SecureRandom directly.
+    TestSecureRandom.getInstance("");
+  }
+
   public void invokesSecureRandomConstructor() throws Exception {
     // BUG: Diagnostic contains:  Do not create SecureRandom directly.
     new SecureRandom();
@@ -38,4 +46,11 @@ public class DoNotCreateSecureRandomDirectlyPositiveCases {
     // BUG: Diagnostic contains:  Do not create SecureRandom directly.
     new SecureRandom(new byte[] {});
   }
+
+  public void invokesAnonymousSecureRandomConstructor() throws Exception {
+    // BUG: Diagnostic contains:  Do not create SecureRandom directly.
+    new java.security.SecureRandom() {};
+  }
+
+  private class TestSecureRandom extends SecureRandom {}
 }
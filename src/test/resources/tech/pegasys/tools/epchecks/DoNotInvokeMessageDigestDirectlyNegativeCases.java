@@ -23,4 +23,13 @@ public class DoNotInvokeMessageDigestDirectlyNegativeCases {
   public void callsMessageDigestGetInstance() throws NoSuchAlgorithmException {
     MessageDigest dig = null;
   }
+
+  public void callsOtherGetInstanceMethods() throws Exception {
+    java.security.KeyStore.getInstance("PKCS12");
+    getInstance();
+  }
+
+  private static MessageDigest getInstance() throws NoSuchAlgorithmException {
+    return null;
+  }
 }
@@ -14,6 +14,8 @@
  */
 package tech.pegasys.tools.epchecks;
 
+import static java.security.MessageDigest.getInstance;
+
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -23,4 +25,14 @@ public class DoNotInvokeMessageDigestDirectlyPositiveCases {
     // BUG: Diagnostic contains:  Do not invoke MessageDigest.getInstance directly.
     MessageDigest dig = MessageDigest.getInstance("SHA-256");
   }
+
+  public void callsFullyQualifiedMessageDigestGetInstance() throws NoSuchAlgorithmException {
+    // BUG: Diagnostic contains:  Do not invoke MessageDigest.getInstance directly.
+    java.security.MessageDigest.getInstance("SHA-256");
+  }
+
+  public void callsStaticallyImportedMessageDigestGetInstance() throws NoSuchAlgorithmException {
+    // BUG: Diagnostic contains:  Do not invoke MessageDigest.getInstance directly.
+    getInstance("SHA-256");
+  }
 }
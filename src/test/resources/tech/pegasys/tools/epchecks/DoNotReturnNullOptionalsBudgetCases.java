@@ -0,0 +1,67 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package tech.pegasys.tools.epchecks;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/** Compiled with a budget of three statements per method. */
+public class DoNotReturnNullOptionalsBudgetCases {
+
+  public Optional<Long> smallMethodReturnsVarAssignedNull() {
+    Optional<Long> var = null;
+    // BUG: Diagnostic contains: Do not return null optionals.
+    return var;
+  }
+
+  public Optional<Long> largeMethodReturnsVarAssignedNull(final long value) {
+    long first = value + 1;
+    long second = first + 1;
+    long third = second + 1;
+    Optional<Long> var = third > 0 ? null : Optional.of(third);
+    // Too large for the dataflow, so only the obvious cases are reported.
+    return var;
+  }
+
+  public Optional<Long> largeMethodReturnsNull(final long value) {
+    long first = value + 1;
+    long second = first + 1;
+    long third = second + 1;
+    if (third > 0) {
+      // BUG: Diagnostic contains: Do not return null optionals.
+      return null;
+    }
+    return Optional.of(third);
+  }
+
+  public Optional<Long> largeMethodAroundLambda(final long value) {
+    Optional<Long> var = value > 0 ? null : Optional.of(value);
+    if (value > 1) {
+      // Too large for the dataflow, as is the same method after the lambda.
+      return var;
+    }
+    final Supplier<Optional<Long>> supplier =
+        () -> {
+          return present();
+        };
+    supplier.get();
+    return var;
+  }
+
+  private Optional<Long> present() {
+    return Optional.of(1L);
+  }
+}
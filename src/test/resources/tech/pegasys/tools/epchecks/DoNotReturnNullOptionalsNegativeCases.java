@@ -52,4 +52,21 @@ public class DoNotReturnNullOptionalsNegativeCases {
     Optional<Long> var = flag ? Optional.of(2L) : Optional.of(3L);
     return var;
   }
+
+  public Optional<String> returnsOptionalChain(final String value) {
+    return Optional.ofNullable(value).map(String::trim).filter(v -> !v.isEmpty());
+  }
+
+  public Optional<Long> returnsValueOfNestedOptional(final Optional<Optional<Long>> nested) {
+    // The value of an Optional is left to the dataflow, even when it is an Optional itself.
+    return nested.orElseGet(Optional::empty);
+  }
+
+  public Optional<Long> returnsOptionalsInConditional(final boolean flag) {
+    return flag ? Optional.of(2L) : Optional.empty();
+  }
+
+  public Long returnsNullForOtherTypes() {
+    return null;
+  }
 }
@@ -16,6 +16,7 @@
 package tech.pegasys.tools.epchecks;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public class DoNotReturnNullOptionalsPositiveCases {
 
@@ -43,4 +44,21 @@ public class DoNotReturnNullOptionalsPositiveCases {
     // BUG: Diagnostic contains: Do not return null optionals.
     return var;
   }
+
+  public Optional<Long> returnsNullInConditional(final boolean flag) {
+    // BUG: Diagnostic contains: Do not return null optionals.
+    return flag ? Optional.of(2L) : null;
+  }
+
+  public Optional<Long> returnsParenthesizedNull() {
+    // BUG: Diagnostic contains: Do not return null optionals.
+    return (null);
+  }
+
+  public Supplier<Optional<Long>> lambdaReturnsNull() {
+    return () -> {
+      // BUG: Diagnostic contains: Do not return null optionals.
+      return null;
+    };
+  }
 }
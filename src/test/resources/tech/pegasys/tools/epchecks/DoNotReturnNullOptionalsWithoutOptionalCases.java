@@ -0,0 +1,27 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+// Nothing here makes javac load Optional, not even a conditional expression, so the compilation
+// never knows the type.
+public class DoNotReturnNullOptionalsWithoutOptionalCases {
+
+  public Object noOptional(final Object value) {
+    return value;
+  }
+
+  public int[] nullArray() {
+    return null;
+  }
+}
@@ -47,4 +47,11 @@ public class ExperimentalCliOptionMustBeCorrectlyDisplayedNegativeCases {
     @CommandLine.Option(names = {"--notExperimentalInBesuCommandClass"})
     private String notExperimentalInBesuCommandClass = "";
   }
+
+  @Option(names = {"--XexperimentalOfAnotherOption"})
+  private String experimentalOfAnotherOption = "";
+
+  private @interface Option {
+    String[] names();
+  }
 }
@@ -16,6 +16,7 @@
 package tech.pegasys.tools.epchecks;
 
 import picocli.CommandLine;
+import picocli.CommandLine.Option;
 
 public class ExperimentalCliOptionMustBeCorrectlyDisplayedPositiveCases {
 
@@ -31,6 +32,16 @@ public class ExperimentalCliOptionMustBeCorrectlyDisplayedPositiveCases {
   @CommandLine.Option(names = {"--Xexperimental2"})
   private String experimental2 = "";
 
+  // BUG: Diagnostic contains:  Experimental options must be hidden and not present in the
+  // BesuCommand class.
+  @Option(names = {"--Xexperimental3"})
+  private String experimental3 = "";
+
+  // BUG: Diagnostic contains:  Experimental options must be hidden and not present in the
+  // BesuCommand class.
+  @picocli.CommandLine.Option(names = {"--Xexperimental4"})
+  private String experimental4 = "";
+
   private class BesuCommand {
 
     // BUG: Diagnostic contains:  Experimental options must be hidden and not present in the
@@ -0,0 +1,52 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package tech.pegasys.tools.epchecks;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InvocationDispatcherCases {
+
+  public void invocationsOfEveryCheck() throws Exception {
+    // BUG: Diagnostic contains: [DoNotCreateSecureRandomDirectly]
+    SecureRandom.getInstance("SHA1PRNG");
+
+    // BUG: Diagnostic contains: [DoNotInvokeMessageDigestDirectly]
+    MessageDigest.getInstance("SHA-256");
+
+    // BUG: Diagnostic contains: [BannedMethod]
+    com.google.common.base.Objects.equal("a", "b");
+
+    final IntArrayList values = new IntArrayList();
+    // BUG: Diagnostic contains: [DoNotUseDeprecatedFastutilMethod]
+    values.add(Integer.valueOf(1));
+
+    final int a = 1;
+    final int b = 2;
+    // BUG: Diagnostic contains: [MathTargetType]
+    long widened = Math.max(a, b);
+  }
+
+  public void invocationsOfNoCheck() {
+    final List<Integer> values = new ArrayList<>();
+    values.add(Integer.valueOf(1));
+    values.get(0);
+    String.valueOf(Math.abs(-1));
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package tech.pegasys.tools.epchecks;
+
+class JavaCaseClassRename {
+
+  private static class InvalidClassName {
+    private final int value;
+
+    InvalidClassName() {
+      this(0);
+    }
+
+    InvalidClassName(final int value) {
+      this.value = value;
+    }
+  }
+
+  private class LowerCamelName {}
+
+  private enum LowerEnum {
+    ONE
+  }
+
+  private record LowerRecord(int value) {
+    LowerRecord {
+      assert value >= 0;
+    }
+  }
+}
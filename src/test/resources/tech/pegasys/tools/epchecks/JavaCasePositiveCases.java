@@ -40,6 +40,11 @@ public class JavaCasePositiveCases {
     int param_name = 27;
   }
 
+  public void declaresRepeatedInvalidVariable() {
+    // BUG: Diagnostic contains: paramName
+    int param_name = 28;
+  }
+
   // BUG: Diagnostic contains: invalidFuncName
   public void invalid_func_name() {}
 
@@ -38,4 +38,20 @@ public class MethodInputParametersMustBeFinalPositiveCases {
     // BUG: Diagnostic contains: Method input parameters must be final.
     public void concreteMethodsAreIncluded(int value) {}
   }
+
+  public class classWithNestedInterface {
+    public interface nestedInterface {
+      void abstractMethodIsIgnored(int value);
+    }
+
+    // BUG: Diagnostic contains: Method input parameters must be final.
+    public void methodAfterNestedInterface(int value) {}
+  }
+
+  public interface interfaceWithNestedClass {
+    class NestedClass {
+      // BUG: Diagnostic contains: Method input parameters must be final.
+      public void concreteMethodInClassInInterface(int value) {}
+    }
+  }
 }
@@ -52,6 +52,37 @@ public class ReferenceComparisonNegativeCases {
     return a == b;
   }
 
+  public boolean comparisonWithTypesDeclaringEquals(final String a, final String b) {
+    return a == b;
+  }
+
+  public boolean comparisonWithInheritedEquals(final Child a, final Child b) {
+    return a == b;
+  }
+
+  public boolean comparisonWithInternedTypes(final Symbol a, final Symbol b) {
+    return a == b;
+  }
+
+  @interface Interned {}
+
+  @Interned
+  private static final class Symbol {}
+
+  private static class Parent {
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof Parent;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+  }
+
+  private static class Child extends Parent {}
+
   private enum TestEnum {
     A,
     B,
@@ -64,4 +64,58 @@ public class ReferenceComparisonPositiveCases {
       return;
     }
   }
-}
\ No newline at end of file
+
+  public boolean comparisonWithoutEquals(final WithoutEquals a, final WithoutEquals b) {
+    // BUG: Diagnostic contains: Reference comparison should be value comparison
+    return a == b;
+  }
+
+  public <T> boolean comparisonWithTypeVariables(final T a, final T b) {
+    // BUG: Diagnostic contains: Reference comparison should be value comparison
+    return a == b;
+  }
+
+  public boolean comparisonWithRecords(final Point a, final Point b) {
+    // BUG: Diagnostic contains: Reference comparison should be value comparison
+    return a == b;
+  }
+
+  public boolean comparisonWithValueBasedClass(final Amount a, final Amount b) {
+    // BUG: Diagnostic contains: Reference comparison should be value comparison
+    return a == b;
+  }
+
+  public boolean comparisonWithBoxedPrimitives(final Integer a, final Integer b) {
+    // BUG: Diagnostic contains: Reference comparison should be value comparison
+    return a == b;
+  }
+
+  private record Point(int x, int y) {}
+
+  @interface ValueBased {}
+
+  @ValueBased
+  private static final class Amount {
+    private final long value;
+
+    private Amount(final long value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof Amount && ((Amount) other).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(value);
+    }
+  }
+
+  private static class WithoutEquals {
+    public boolean equals(final WithoutEquals other) {
+      return true;
+    }
+  }
+}